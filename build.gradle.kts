@@ -5,9 +5,17 @@ plugins {
     signing
 }
 
+sourceSets {
+    create("soak") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 dependencies {
     compileOnly("org.jetbrains:annotations:26.1.0")
 
+    testImplementation("com.google.jimfs:jimfs:1.3.0")
     testImplementation("org.assertj:assertj-core:3.27.7")
     testImplementation("org.jetbrains:annotations:26.1.0")
     testImplementation("org.junit.jupiter:junit-jupiter:6.1.1")
@@ -25,11 +33,39 @@ java {
     withSourcesJar()
 }
 
+tasks.check {
+    dependsOn(tasks.named("soakClasses"))
+}
+
 tasks.named<Test>("test") {
     useJUnitPlatform()
     finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<JavaExec>("soak") {
+    description = "Runs the soak harness against rotating bindings in a temporary directory."
+    group = "verification"
+
+    classpath = sourceSets["soak"].runtimeClasspath
+    mainClass.set("com.nebhale.bindings.soak.Soak")
+
+    if (project.hasProperty("soak.args")) {
+        args((project.property("soak.args") as String).split(" "))
+    }
+}
+
+tasks.register<JavaExec>("compressionBenchmark") {
+    description = "Reports the memory and read cost of compressed caching."
+    group = "verification"
+
+    classpath = sourceSets["soak"].runtimeClasspath
+    mainClass.set("com.nebhale.bindings.soak.CompressionBenchmark")
+
+    if (project.hasProperty("benchmark.args")) {
+        args((project.property("benchmark.args") as String).split(" "))
+    }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
 
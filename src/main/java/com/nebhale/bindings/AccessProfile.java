@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The binding entries that an application read during startup.  A profile is recorded with
+ * {@link #record(Binding[], Duration, Path)} and used on the next start with
+ * {@link Bindings#preload(Path, AccessProfile)} to read exactly those entries eagerly.
+ * <p>
+ * Profiles are stored as UTF-8 text with one {@code name<TAB>key} line per entry.
+ */
+public final class AccessProfile {
+
+    private final Map<String, Set<String>> entries;
+
+    AccessProfile(@NotNull Map<String, ? extends Set<String>> entries) {
+        Map<String, Set<String>> normalized = new TreeMap<>();
+        entries.forEach((name, keys) -> {
+            if (!keys.isEmpty()) {
+                normalized.computeIfAbsent(Index.normalize(name), k -> new TreeSet<>()).addAll(keys);
+            }
+        });
+        normalized.replaceAll((name, keys) -> Collections.unmodifiableSet(keys));
+
+        this.entries = Collections.unmodifiableMap(normalized);
+    }
+
+    /**
+     * Reads a profile from a file.  If the file does not exist, for example on the first start, an empty profile is
+     * returned.
+     *
+     * @param file the file to read
+     * @return the profile
+     * @throws IllegalStateException if the file cannot be read or is malformed
+     */
+    @NotNull
+    public static AccessProfile read(@NotNull Path file) {
+        Assert.notNull(file, "file must not be null");
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return new AccessProfile(Collections.emptyMap());
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read access profile '%s'", file), e);
+        }
+
+        Map<String, Set<String>> entries = new TreeMap<>();
+        for (String line : lines) {
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            int separator = line.lastIndexOf('\t');
+            if (separator <= 0) {
+                throw new IllegalStateException(String.format("malformed line '%s' in access profile '%s'", line,
+                    file));
+            }
+
+            entries.computeIfAbsent(line.substring(0, separator), k -> new TreeSet<>())
+                .add(line.substring(separator + 1));
+        }
+
+        return new AccessProfile(entries);
+    }
+
+    /**
+     * Starts recording the entries read from a collection of {@link Binding}s.  Reads are recorded through the
+     * {@code Binding}s returned by {@link AccessRecorder#getBindings()} until the window has elapsed, at which point
+     * the profile is written to a file.
+     *
+     * @param bindings the {@code Binding}s to record reads from
+     * @param window   how long to record for
+     * @param file     the file to write the profile to
+     * @return a handle to the recording
+     */
+    @NotNull
+    public static AccessRecorder record(@NotNull Binding[] bindings, @NotNull Duration window, @NotNull Path file) {
+        Assert.notNull(bindings, "bindings must not be null");
+        Assert.notNull(window, "window must not be null");
+        Assert.notNull(file, "file must not be null");
+
+        return new AccessRecorder(bindings, window, file);
+    }
+
+    /**
+     * Returns the keys read from a {@link Binding}.
+     *
+     * @param name the name of the {@code Binding}, compared ignoring case
+     * @return the keys read from the {@code Binding}
+     */
+    @NotNull
+    public Set<String> getKeys(@NotNull String name) {
+        Assert.notNull(name, "name must not be null");
+
+        return entries.getOrDefault(Index.normalize(name), Collections.emptySet());
+    }
+
+    /**
+     * Returns whether the profile contains no entries.
+     *
+     * @return {@code true} if the profile contains no entries, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Writes the profile to a file.  The file is replaced atomically where the file system supports it, and is readable
+     * by its owner and group ({@code 0640}) on POSIX file systems.
+     *
+     * @param file the file to write
+     * @throws IllegalStateException if the file cannot be written
+     */
+    public void write(@NotNull Path file) {
+        Assert.notNull(file, "file must not be null");
+
+        StringBuilder content = new StringBuilder();
+        entries.forEach((name, keys) -> keys.forEach(key ->
+            content.append(name).append('\t').append(key).append(System.lineSeparator())));
+
+        try {
+            AtomicFiles.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to write access profile '%s'", file), e);
+        }
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccessProfile that = (AccessProfile) o;
+        return entries.equals(that.entries);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(entries);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "AccessProfile{" +
+            "entries=" + entries +
+            '}';
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A handle to a recording of the entries read from a collection of {@link Binding}s.  Reads through the
+ * {@code Binding}s returned by {@link #getBindings()} are recorded until the window has elapsed; the profile is then
+ * written and later reads are passed through without being recorded.
+ *
+ * @see AccessProfile#record(Binding[], Duration, Path)
+ */
+public final class AccessRecorder implements BindingSource {
+
+    private final Binding[] bindings;
+
+    private final Map<String, Set<String>> entries = new ConcurrentHashMap<>();
+
+    private final long deadline;
+
+    private final CompletableFuture<AccessProfile> written;
+
+    AccessRecorder(@NotNull Binding[] bindings, @NotNull Duration window, @NotNull Path file) {
+        this.bindings = Stream.of(bindings)
+            .map(RecordingBinding::new)
+            .toArray(Binding[]::new);
+        this.deadline = System.nanoTime() + window.toNanos();
+        this.written = CompletableFuture.supplyAsync(() -> {
+            AccessProfile profile = getProfile();
+            profile.write(file);
+            return profile;
+        }, CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, Async.executor()));
+    }
+
+    /**
+     * Returns a copy of the recording {@link Binding}s.
+     *
+     * @return a copy of the recording {@code Binding}s
+     */
+    @NotNull
+    @Override
+    public Binding[] getBindings() {
+        return bindings.clone();
+    }
+
+    /**
+     * Returns the entries recorded so far.
+     *
+     * @return the entries recorded so far
+     */
+    @NotNull
+    public AccessProfile getProfile() {
+        return new AccessProfile(entries);
+    }
+
+    /**
+     * Returns whether reads are still being recorded.
+     *
+     * @return {@code true} if the window has not elapsed, otherwise {@code false}
+     */
+    public boolean isRecording() {
+        return System.nanoTime() - deadline < 0;
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} that completes with the profile once it has been written.
+     *
+     * @return a {@code CompletableFuture} that completes with the written profile
+     */
+    @NotNull
+    public CompletableFuture<AccessProfile> whenWritten() {
+        return written.copy();
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "AccessRecorder{" +
+            "recording=" + isRecording() +
+            '}';
+    }
+
+    private final class RecordingBinding implements EnumerableBinding {
+
+        private final Binding delegate;
+
+        private final Set<String> keys;
+
+        private RecordingBinding(Binding delegate) {
+            this.delegate = delegate;
+            this.keys = entries.computeIfAbsent(delegate.getName(), k -> ConcurrentHashMap.newKeySet());
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            byte[] value = delegate.getAsBytes(key);
+
+            if (value != null && isRecording()) {
+                keys.add(key);
+            }
+
+            return value;
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys() {
+            return Bindings.keys(delegate);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Generated
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RecordingBinding that = (RecordingBinding) o;
+            return delegate.equals(that.delegate);
+        }
+
+        @Generated
+        @Override
+        public int hashCode() {
+            return Objects.hash(delegate);
+        }
+
+        @Generated
+        @NotNull
+        @Override
+        public String toString() {
+            return "RecordingBinding{" +
+                "delegate=" + delegate +
+                '}';
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+final class Async {
+
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("bindings-", 0).factory();
+
+    private static final Executor EXECUTOR = task -> THREAD_FACTORY.newThread(task).start();
+
+    private Async() {
+    }
+
+    /**
+     * Returns the default {@link Executor} for asynchronous reads.  Each task runs on a new virtual thread.
+     *
+     * @return the default {@code Executor} for asynchronous reads
+     */
+    @NotNull
+    static Executor executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Waits for a {@link CompletableFuture} to complete and returns its value.  Unchecked exceptions and errors that
+     * it completed with are thrown as they are, rather than wrapped in a {@link CompletionException}.
+     *
+     * @param future the {@code CompletableFuture} to wait for
+     * @param <T>    the type of the value
+     * @return the value of the {@code CompletableFuture}
+     */
+    static <T> T join(@NotNull CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -19,7 +19,10 @@ package com.nebhale.bindings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * A representation of a binding as defined by the
@@ -46,6 +49,61 @@ public interface Binding {
     @Nullable
     byte[] getAsBytes(@NotNull String key);
 
+    /**
+     * Returns the contents of a binding entry in its raw {@code byte[]} form without blocking the caller.  The entry is
+     * read on a virtual thread.
+     *
+     * @param key the key of the entry to retrieve
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     * @see #getAsBytesAsync(String, Executor)
+     */
+    @NotNull
+    default CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key) {
+        return getAsBytesAsync(key, Async.executor());
+    }
+
+    /**
+     * Returns the contents of a binding entry in its raw {@code byte[]} form without blocking the caller.  The entry is
+     * read on an {@link Executor}.  Implementations that hold the contents in memory may complete the future on the
+     * calling thread.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     */
+    @NotNull
+    default CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        return CompletableFuture.supplyAsync(() -> getAsBytes(key), executor);
+    }
+
+    /**
+     * Reads the contents of a binding entry in its raw form into a caller-supplied buffer.  The contents are written
+     * at the buffer's position, and the position is advanced by the number of bytes written.
+     *
+     * @param key the key of the entry to read
+     * @param dst the buffer to write the contents into
+     * @return the number of bytes written if the entry exists, otherwise {@code -1}
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space for the contents, in which
+     *                                          case the buffer's position is unchanged
+     */
+    default int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        Assert.notNull(dst, "dst must not be null");
+
+        byte[] value = getAsBytes(key);
+
+        if (value == null) {
+            return -1;
+        }
+
+        dst.put(value);
+        return value.length;
+    }
+
     /**
      * Returns the name of the binding.
      *
@@ -73,6 +131,90 @@ public interface Binding {
         return new String(value, StandardCharsets.UTF_8).trim();
     }
 
+    /**
+     * Returns the contents of a binding entry as a UTF-8 decoded {@code String} without blocking the caller.  Any
+     * whitespace is trimmed.  The entry is read on a virtual thread.
+     *
+     * @param key the key of the entry to retrieve
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry as a UTF-8 decoded
+     * {@code String} if it exists, otherwise {@code null}
+     * @see #getAsBytesAsync(String, Executor)
+     */
+    @NotNull
+    default CompletableFuture<String> getAsync(@NotNull String key) {
+        return getAsync(key, Async.executor());
+    }
+
+    /**
+     * Returns the contents of a binding entry as a UTF-8 decoded {@code String} without blocking the caller.  Any
+     * whitespace is trimmed.  The entry is read on an {@link Executor}.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry as a UTF-8 decoded
+     * {@code String} if it exists, otherwise {@code null}
+     * @see #getAsBytesAsync(String, Executor)
+     */
+    @NotNull
+    default CompletableFuture<String> getAsync(@NotNull String key, @NotNull Executor executor) {
+        return getAsBytesAsync(key, executor)
+            .thenApply(value -> value == null ? null : new String(value, StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * Returns the contents of a binding entry as a UTF-8 decoded {@link CharSequence}.  Any whitespace is trimmed.
+     * When the contents are ASCII, the {@code CharSequence} is a view over the bytes returned by
+     * {@link #getAsBytes(String)} and no copy is made.
+     *
+     * @param key the key of the entry to retrieve
+     * @return the contents of a binding entry as a UTF-8 decoded {@code CharSequence} if it exists, otherwise
+     * {@code null}
+     */
+    @Nullable
+    default CharSequence getAsCharSequence(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        byte[] value = getAsBytes(key);
+
+        if (value == null) {
+            return null;
+        }
+
+        return Content.trimmed(value);
+    }
+
+    /**
+     * Tests whether the contents of a binding entry, as returned by {@link #get(String)}, are equal to an expected
+     * value without creating a {@code String}.
+     *
+     * @param key      the key of the entry to compare
+     * @param expected the expected value
+     * @return {@code true} if the entry exists and is equal to the expected value, otherwise {@code false}
+     */
+    default boolean contentEquals(@NotNull String key, @NotNull CharSequence expected) {
+        Assert.notNull(expected, "expected must not be null");
+
+        CharSequence value = getAsCharSequence(key);
+        return value != null && Content.equals(value, expected, false);
+    }
+
+    /**
+     * Tests whether the contents of a binding entry, as returned by {@link #get(String)}, are equal to an expected
+     * value, ignoring case, without creating a {@code String}.  Case is compared as
+     * {@link String#equalsIgnoreCase(String)} compares it.
+     *
+     * @param key      the key of the entry to compare
+     * @param expected the expected value
+     * @return {@code true} if the entry exists and is equal to the expected value ignoring case, otherwise
+     * {@code false}
+     */
+    default boolean contentEqualsIgnoreCase(@NotNull String key, @NotNull CharSequence expected) {
+        Assert.notNull(expected, "expected must not be null");
+
+        CharSequence value = getAsCharSequence(key);
+        return value != null && Content.equals(value, expected, true);
+    }
+
     /**
      * Returns the value of the {@link #PROVIDER} key.
      *
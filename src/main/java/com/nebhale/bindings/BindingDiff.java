@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The differences between two versions of a {@link Binding}.
+ *
+ * @see Bindings#diff(Binding, Binding)
+ */
+public final class BindingDiff {
+
+    private final String name;
+
+    private final Set<String> added;
+
+    private final Set<String> removed;
+
+    private final Set<String> changed;
+
+    private BindingDiff(String name, Set<String> added, Set<String> removed, Set<String> changed) {
+        this.name = name;
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.changed = Collections.unmodifiableSet(changed);
+    }
+
+    /*
+     * Keys present in only one version are not read.  Entries whose fingerprints are equal are unchanged and are not
+     * read either; otherwise values are read and compared by reference first, so values that a cache or a refresh has
+     * kept are never compared byte by byte.
+     */
+    @NotNull
+    static BindingDiff of(@NotNull Binding before, @NotNull Binding after) {
+        Set<String> added = new TreeSet<>();
+        Set<String> removed = new TreeSet<>();
+        Set<String> changed = new TreeSet<>();
+
+        if (before == after) {
+            return new BindingDiff(after.getName(), added, removed, changed);
+        }
+
+        Set<String> beforeKeys = Bindings.keys(before);
+        Set<String> afterKeys = Bindings.keys(after);
+
+        for (String key : beforeKeys) {
+            if (!afterKeys.contains(key)) {
+                removed.add(key);
+            } else if (!unchanged(before, after, key)) {
+                changed.add(key);
+            }
+        }
+
+        for (String key : afterKeys) {
+            if (!beforeKeys.contains(key)) {
+                added.add(key);
+            }
+        }
+
+        return new BindingDiff(after.getName(), added, removed, changed);
+    }
+
+    private static boolean unchanged(Binding before, Binding after, String key) {
+        if (before instanceof FingerprintedBinding && after instanceof FingerprintedBinding) {
+            Object fingerprint = ((FingerprintedBinding) before).getFingerprint(key);
+
+            if (fingerprint != null && fingerprint.equals(((FingerprintedBinding) after).getFingerprint(key))) {
+                return true;
+            }
+        }
+
+        return Arrays.equals(before.getAsBytes(key), after.getAsBytes(key));
+    }
+
+    /**
+     * Returns the name of the binding.
+     *
+     * @return the name of the binding
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the keys of the entries that exist only in the later version.
+     *
+     * @return the keys of the added entries
+     */
+    @NotNull
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the keys of the entries that exist only in the earlier version.
+     *
+     * @return the keys of the removed entries
+     */
+    @NotNull
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the keys of the entries that exist in both versions with different contents.
+     *
+     * @return the keys of the changed entries
+     */
+    @NotNull
+    public Set<String> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Returns whether the two versions have the same entries with the same contents.
+     *
+     * @return {@code true} if there are no differences, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BindingDiff that = (BindingDiff) o;
+        return name.equals(that.name) && added.equals(that.added) && removed.equals(that.removed) &&
+            changed.equals(that.changed);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, added, removed, changed);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "BindingDiff{" +
+            "name='" + name + '\'' +
+            ", added=" + added +
+            ", removed=" + removed +
+            ", changed=" + changed +
+            '}';
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The entries a {@link Binding} of a given type must and may contain, and the format of their values.  Formats are
+ * tested against the trimmed, UTF-8 decoded value of an entry.  Instances are immutable; each {@code with} method
+ * returns a new instance.  Schemas are compiled into a {@link BindingValidator}.
+ */
+public final class BindingSchema {
+
+    private static final Predicate<String> ANY = s -> true;
+
+    private final String type;
+
+    private final Map<String, Predicate<String>> required;
+
+    private final Map<String, Predicate<String>> optional;
+
+    private BindingSchema(String type, Map<String, Predicate<String>> required,
+                          Map<String, Predicate<String>> optional) {
+
+        this.type = type;
+        this.required = required;
+        this.optional = optional;
+    }
+
+    /**
+     * Creates a {@code BindingSchema} for a type, with no entries.
+     *
+     * @param type the type of {@link Binding} the schema describes, compared case-insensitively
+     * @return the {@code BindingSchema}
+     */
+    @NotNull
+    public static BindingSchema of(@NotNull String type) {
+        Assert.notNull(type, "type must not be null");
+
+        return new BindingSchema(type, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Returns a format that accepts decimal integers.
+     *
+     * @return a format that accepts decimal integers
+     */
+    @NotNull
+    public static Predicate<String> integer() {
+        return pattern("[+-]?[0-9]+");
+    }
+
+    /**
+     * Returns a format that accepts values matching a regular expression in their entirety.
+     *
+     * @param regex the regular expression to match
+     * @return a format that accepts values matching the regular expression
+     */
+    @NotNull
+    public static Predicate<String> pattern(@NotNull String regex) {
+        Assert.notNull(regex, "regex must not be null");
+
+        return Pattern.compile(regex).asMatchPredicate();
+    }
+
+    /**
+     * Returns a format that accepts TCP ports, between {@code 1} and {@code 65535}.
+     *
+     * @return a format that accepts TCP ports
+     */
+    @NotNull
+    public static Predicate<String> port() {
+        return pattern("[0-9]{1,5}").and(s -> {
+            int port = Integer.parseInt(s);
+            return port >= 1 && port <= 65535;
+        });
+    }
+
+    /**
+     * Returns a copy of this schema with an optional entry of any format.
+     *
+     * @param key the key of the entry
+     * @return a copy of this schema with the optional entry
+     */
+    @NotNull
+    public BindingSchema withOptional(@NotNull String key) {
+        return withOptional(key, ANY);
+    }
+
+    /**
+     * Returns a copy of this schema with an optional entry.  The format is only tested when the entry exists.
+     *
+     * @param key    the key of the entry
+     * @param format the format the value of the entry must have
+     * @return a copy of this schema with the optional entry
+     */
+    @NotNull
+    public BindingSchema withOptional(@NotNull String key, @NotNull Predicate<String> format) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(format, "format must not be null");
+
+        Map<String, Predicate<String>> r = new LinkedHashMap<>(required);
+        r.remove(key);
+        Map<String, Predicate<String>> o = new LinkedHashMap<>(optional);
+        o.put(key, format);
+
+        return new BindingSchema(type, Collections.unmodifiableMap(r), Collections.unmodifiableMap(o));
+    }
+
+    /**
+     * Returns a copy of this schema with a required entry of any format.
+     *
+     * @param key the key of the entry
+     * @return a copy of this schema with the required entry
+     */
+    @NotNull
+    public BindingSchema withRequired(@NotNull String key) {
+        return withRequired(key, ANY);
+    }
+
+    /**
+     * Returns a copy of this schema with a required entry.
+     *
+     * @param key    the key of the entry
+     * @param format the format the value of the entry must have
+     * @return a copy of this schema with the required entry
+     */
+    @NotNull
+    public BindingSchema withRequired(@NotNull String key, @NotNull Predicate<String> format) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(format, "format must not be null");
+
+        Map<String, Predicate<String>> r = new LinkedHashMap<>(required);
+        r.put(key, format);
+        Map<String, Predicate<String>> o = new LinkedHashMap<>(optional);
+        o.remove(key);
+
+        return new BindingSchema(type, Collections.unmodifiableMap(r), Collections.unmodifiableMap(o));
+    }
+
+    @NotNull
+    String getType() {
+        return type;
+    }
+
+    @NotNull
+    Map<String, Predicate<String>> getRequired() {
+        return required;
+    }
+
+    @NotNull
+    Map<String, Predicate<String>> getOptional() {
+        return optional;
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "BindingSchema{" +
+            "type='" + type + '\'' +
+            ", required=" + required.keySet() +
+            ", optional=" + optional.keySet() +
+            '}';
+    }
+
+}
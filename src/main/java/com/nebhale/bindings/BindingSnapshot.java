@@ -0,0 +1,535 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A compact, versioned, binary snapshot of a collection of {@link Binding}s that is memory-mapped and read in place.
+ *
+ * <pre>
+ * header    magic, version, binding count, entry count, slot count, bucket count, and the offset of each region
+ * bindings  for each binding, the offset and length of its name, and the offset and count of its keys
+ * keys      for each binding, the slots of its entries, ordered by key
+ * buckets   for each bucket, the seed that places all of its entries in distinct slots
+ * slots     for each slot, the binding of its entry, and the offset and length of its key and value
+ * data      names, keys, and values
+ * </pre>
+ * <p>
+ * Entries are found with a perfect hash.  An entry's bucket is chosen by hashing its binding and key, and the seed of
+ * that bucket is then mixed into the hash to choose a slot that no other entry occupies.  A lookup reads one bucket
+ * and one slot, and compares one key.
+ */
+final class BindingSnapshot {
+
+    private static final int MAGIC = 0x53424e44;
+
+    private static final short VERSION = 1;
+
+    private static final int HEADER_SIZE = 40;
+
+    private static final int BINDING_SIZE = 16;
+
+    private static final int SLOT_SIZE = 20;
+
+    private static final int MAX_SEED = 1 << 24;
+
+    private final ByteBuffer buffer;
+
+    private final int slotCount;
+
+    private final int bucketCount;
+
+    private final int bindingsOffset;
+
+    private final int keysOffset;
+
+    private final int bucketsOffset;
+
+    private final int slotsOffset;
+
+    private BindingSnapshot(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("not a binding snapshot");
+        }
+
+        if (buffer.getShort(4) != VERSION) {
+            throw new IllegalStateException(
+                String.format("unsupported binding snapshot version %d", buffer.getShort(4)));
+        }
+
+        this.buffer = buffer;
+        this.slotCount = buffer.getInt(16);
+        this.bucketCount = buffer.getInt(20);
+        this.bindingsOffset = buffer.getInt(24);
+        this.keysOffset = buffer.getInt(28);
+        this.bucketsOffset = buffer.getInt(32);
+        this.slotsOffset = buffer.getInt(36);
+
+        validate();
+    }
+
+    /*
+     * Checks that every offset and length in the index lies within the buffer, so that a truncated or corrupt snapshot
+     * is rejected when it is loaded rather than failing during a lookup.
+     */
+    private void validate() {
+        int bindingCount = buffer.getInt(8);
+        int entryCount = buffer.getInt(12);
+
+        if (bindingCount < 0 || entryCount < 0 || slotCount < 1 || bucketCount < 1 || slotCount < entryCount ||
+            !contains(bindingsOffset, (long) bindingCount * BINDING_SIZE) ||
+            !contains(keysOffset, (long) entryCount * Integer.BYTES) ||
+            !contains(bucketsOffset, (long) bucketCount * Integer.BYTES) ||
+            !contains(slotsOffset, (long) slotCount * SLOT_SIZE)) {
+
+            throw corrupt();
+        }
+
+        for (int i = 0; i < bindingCount; i++) {
+            int offset = bindingsOffset + i * BINDING_SIZE;
+            int first = buffer.getInt(offset + 8);
+            int count = buffer.getInt(offset + 12);
+
+            if (!contains(buffer.getInt(offset), buffer.getInt(offset + 4)) ||
+                first < 0 || count < 0 || (long) first + count > entryCount) {
+
+                throw corrupt();
+            }
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            int slot = buffer.getInt(keysOffset + i * Integer.BYTES);
+
+            if (slot < 0 || slot >= slotCount) {
+                throw corrupt();
+            }
+        }
+
+        for (int i = 0; i < slotCount; i++) {
+            int offset = slotsOffset + i * SLOT_SIZE;
+            int binding = buffer.getInt(offset);
+
+            if (binding == -1) {
+                continue;
+            }
+
+            if (binding < 0 || binding >= bindingCount ||
+                !contains(buffer.getInt(offset + 4), buffer.getInt(offset + 8)) ||
+                !contains(buffer.getInt(offset + 12), buffer.getInt(offset + 16))) {
+
+                throw corrupt();
+            }
+        }
+    }
+
+    private boolean contains(long offset, long length) {
+        return offset >= 0 && length >= 0 && offset + length <= buffer.limit();
+    }
+
+    private static IllegalStateException corrupt() {
+        return new IllegalStateException("corrupt binding snapshot");
+    }
+
+    /**
+     * Maps a snapshot file and returns the {@link Binding}s it contains.  Values are read from the mapping on each
+     * access.  On file systems that cannot map files, such as in-memory file systems, the file is read into memory
+     * instead.
+     *
+     * @param file the snapshot file
+     * @return the {@link Binding}s in the snapshot
+     * @throws IllegalStateException if the file cannot be read or is not a snapshot
+     */
+    @NotNull
+    static Binding[] read(@NotNull Path file) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = map(channel);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to map binding snapshot '%s'", file), e);
+        }
+
+        return new BindingSnapshot(buffer).getBindings();
+    }
+
+    private static ByteBuffer map(FileChannel channel) throws IOException {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (UnsupportedOperationException e) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the whole file has been buffered
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Writes a snapshot of {@link Binding}s to a file.  The snapshot is written to a temporary file alongside the
+     * target and then moved into place, so readers never observe a partially written snapshot.  On POSIX file systems
+     * the snapshot is readable by its owner and group ({@code 0640}) rather than only by its owner, as temporary files
+     * are created, so that processes running as other users in the same group can read it.
+     *
+     * @param bindings the {@link Binding}s to write
+     * @param file     the snapshot file
+     * @throws IllegalStateException if the file cannot be written
+     */
+    static void write(@NotNull Binding[] bindings, @NotNull Path file) {
+        try {
+            AtomicFiles.write(file, encode(bindings));
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to write binding snapshot '%s'", file), e);
+        }
+    }
+
+    @NotNull
+    static byte[] encode(@NotNull Binding[] bindings) {
+        List<Entry> entries = new ArrayList<>();
+        int[] firstEntries = new int[bindings.length];
+        for (int i = 0; i < bindings.length; i++) {
+            firstEntries[i] = entries.size();
+
+            for (String key : new TreeSet<>(Bindings.keys(bindings[i]))) {
+                if (!Secret.isValidSecretKey(key)) {
+                    continue;
+                }
+
+                byte[] value = bindings[i].getAsBytes(key);
+                if (value != null) {
+                    entries.add(new Entry(i, key, value));
+                }
+            }
+        }
+
+        int slotCount = Math.max(1, entries.size() + entries.size() / 4);
+        int bucketCount = Math.max(1, (entries.size() + 3) / 4);
+        int[] seeds = new int[bucketCount];
+        int[] slots = place(entries, seeds, slotCount);
+
+        int bindingsOffset = HEADER_SIZE;
+        int keysOffset = bindingsOffset + bindings.length * BINDING_SIZE;
+        int bucketsOffset = keysOffset + entries.size() * Integer.BYTES;
+        int slotsOffset = bucketsOffset + bucketCount * Integer.BYTES;
+        int dataOffset = slotsOffset + slotCount * SLOT_SIZE;
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteBuffer index = ByteBuffer.allocate(dataOffset);
+
+        index.putInt(MAGIC)
+            .putShort(VERSION)
+            .putShort((short) 0)
+            .putInt(bindings.length)
+            .putInt(entries.size())
+            .putInt(slotCount)
+            .putInt(bucketCount)
+            .putInt(bindingsOffset)
+            .putInt(keysOffset)
+            .putInt(bucketsOffset)
+            .putInt(slotsOffset);
+
+        for (int i = 0; i < bindings.length; i++) {
+            byte[] name = bindings[i].getName().getBytes(StandardCharsets.UTF_8);
+            int last = i + 1 < bindings.length ? firstEntries[i + 1] : entries.size();
+
+            index.putInt(dataOffset + data.size())
+                .putInt(name.length)
+                .putInt(firstEntries[i])
+                .putInt(last - firstEntries[i]);
+            data.writeBytes(name);
+        }
+
+        for (int slot : slots) {
+            index.putInt(slot);
+        }
+
+        for (int seed : seeds) {
+            index.putInt(seed);
+        }
+
+        Entry[] bySlot = new Entry[slotCount];
+        for (int i = 0; i < slots.length; i++) {
+            bySlot[slots[i]] = entries.get(i);
+        }
+
+        for (Entry entry : bySlot) {
+            if (entry == null) {
+                index.putInt(-1)
+                    .putInt(0)
+                    .putInt(0)
+                    .putInt(0)
+                    .putInt(0);
+                continue;
+            }
+
+            byte[] key = entry.key.getBytes(StandardCharsets.US_ASCII);
+            int keyOffset = dataOffset + data.size();
+            data.writeBytes(key);
+            int valueOffset = dataOffset + data.size();
+            data.writeBytes(entry.value);
+
+            index.putInt(entry.binding)
+                .putInt(keyOffset)
+                .putInt(key.length)
+                .putInt(valueOffset)
+                .putInt(entry.value.length);
+        }
+
+        if ((long) dataOffset + data.size() > Integer.MAX_VALUE) {
+            throw new IllegalStateException("bindings are too large for a snapshot");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(dataOffset + data.size());
+        out.writeBytes(index.array());
+        out.writeBytes(data.toByteArray());
+        return out.toByteArray();
+    }
+
+    /*
+     * Chooses a seed for each bucket, largest bucket first, such that every entry of the bucket hashes to a free slot,
+     * and returns the slot of each entry.
+     */
+    private static int[] place(List<Entry> entries, int[] seeds, int slotCount) {
+        int[] slots = new int[entries.size()];
+
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i < seeds.length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            buckets.get(bucket(entry.hash, seeds.length)).add(i);
+        }
+
+        Integer[] order = new Integer[seeds.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingInt((Integer b) -> buckets.get(b).size()).reversed());
+
+        boolean[] occupied = new boolean[slotCount];
+        for (int b : order) {
+            List<Integer> members = buckets.get(b);
+            if (members.isEmpty()) {
+                break;
+            }
+
+            int[] candidates = new int[members.size()];
+            for (int seed = 1; ; seed++) {
+                if (seed > MAX_SEED) {
+                    throw new IllegalStateException("unable to create perfect hash for binding snapshot");
+                }
+
+                if (fits(entries, members, seed, occupied, candidates)) {
+                    seeds[b] = seed;
+                    for (int i = 0; i < candidates.length; i++) {
+                        occupied[candidates[i]] = true;
+                        slots[members.get(i)] = candidates[i];
+                    }
+                    break;
+                }
+            }
+        }
+
+        return slots;
+    }
+
+    private static boolean fits(List<Entry> entries, List<Integer> members, int seed, boolean[] occupied,
+                                int[] candidates) {
+
+        for (int i = 0; i < members.size(); i++) {
+            Entry entry = entries.get(members.get(i));
+            int slot = slot(entry.hash, seed, occupied.length);
+
+            if (occupied[slot]) {
+                return false;
+            }
+
+            for (int j = 0; j < i; j++) {
+                if (candidates[j] == slot) {
+                    return false;
+                }
+            }
+
+            candidates[i] = slot;
+        }
+
+        return true;
+    }
+
+    private static int bucket(long hash, int count) {
+        return (int) ((hash >>> 1) % count);
+    }
+
+    private static int slot(long hash, int seed, int count) {
+        return (int) ((mix(hash + seed * 0x9e3779b97f4a7c15L) >>> 1) % count);
+    }
+
+    /*
+     * FNV-1a over the binding and the characters of the key, finished with the MurmurHash3 mixer.
+     */
+    private static long hash(int binding, String key) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ binding) * 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @NotNull
+    Binding[] getBindings() {
+        Binding[] bindings = new Binding[buffer.getInt(8)];
+
+        for (int i = 0; i < bindings.length; i++) {
+            int offset = bindingsOffset + i * BINDING_SIZE;
+            bindings[i] = new MappedBinding(this, i, string(buffer.getInt(offset), buffer.getInt(offset + 4),
+                StandardCharsets.UTF_8));
+        }
+
+        return bindings;
+    }
+
+    @Nullable
+    byte[] get(int binding, @NotNull String key) {
+        int slot = find(binding, key);
+        if (slot < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[buffer.getInt(slot + 16)];
+        buffer.get(buffer.getInt(slot + 12), value);
+        return value;
+    }
+
+    int read(int binding, @NotNull String key, @NotNull ByteBuffer dst) {
+        int slot = find(binding, key);
+        if (slot < 0) {
+            return -1;
+        }
+
+        int length = buffer.getInt(slot + 16);
+        if (length > dst.remaining()) {
+            throw new BufferOverflowException();
+        }
+
+        dst.put(dst.position(), buffer, buffer.getInt(slot + 12), length);
+        dst.position(dst.position() + length);
+        return length;
+    }
+
+    /*
+     * Snapshots are compared by identity, so the fingerprints of values from different snapshots are never equal.
+     */
+    @Nullable
+    Object getFingerprint(int binding, @NotNull String key) {
+        int slot = find(binding, key);
+        if (slot < 0) {
+            return null;
+        }
+
+        return Arrays.asList(this, buffer.getInt(slot + 12), buffer.getInt(slot + 16));
+    }
+
+    @NotNull
+    Set<String> getKeys(int binding) {
+        int offset = bindingsOffset + binding * BINDING_SIZE;
+        int first = buffer.getInt(offset + 8);
+        int count = buffer.getInt(offset + 12);
+
+        Set<String> keys = new TreeSet<>();
+        for (int i = first; i < first + count; i++) {
+            int slot = slotsOffset + buffer.getInt(keysOffset + i * Integer.BYTES) * SLOT_SIZE;
+            keys.add(string(buffer.getInt(slot + 4), buffer.getInt(slot + 8), StandardCharsets.US_ASCII));
+        }
+
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /*
+     * Returns the offset of the slot for an entry, or -1 if the snapshot does not contain the entry.
+     */
+    private int find(int binding, String key) {
+        long hash = hash(binding, key);
+        int seed = buffer.getInt(bucketsOffset + bucket(hash, bucketCount) * Integer.BYTES);
+        int slot = slotsOffset + slot(hash, seed, slotCount) * SLOT_SIZE;
+
+        if (buffer.getInt(slot) != binding || buffer.getInt(slot + 8) != key.length()) {
+            return -1;
+        }
+
+        int keyOffset = buffer.getInt(slot + 4);
+        for (int i = 0; i < key.length(); i++) {
+            if (buffer.get(keyOffset + i) != key.charAt(i)) {
+                return -1;
+            }
+        }
+
+        return slot;
+    }
+
+    private String string(int offset, int length, Charset charset) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, charset);
+    }
+
+    private static final class Entry {
+
+        private final int binding;
+
+        private final String key;
+
+        private final byte[] value;
+
+        private final long hash;
+
+        private Entry(int binding, String key, byte[] value) {
+            this.binding = binding;
+            this.key = key;
+            this.value = value;
+            this.hash = hash(binding, key);
+        }
+
+    }
+
+}
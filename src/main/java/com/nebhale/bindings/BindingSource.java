@@ -0,0 +1,206 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.ServiceLoader;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * A source of {@link Binding}s.  Implementations can be registered in
+ * {@code META-INF/services/com.nebhale.bindings.BindingSource} and found with {@link #discover()}.  Sources are
+ * decorated by chaining, for example {@code source.deduplicated().cached().reloadable()}.
+ */
+@FunctionalInterface
+public interface BindingSource {
+
+    /**
+     * Returns the {@link Binding}s of this source.
+     *
+     * @return the {@link Binding}s of this source
+     */
+    @NotNull
+    Binding[] getBindings();
+
+    /**
+     * Returns a {@code BindingSource} that combines several sources.  Sources are given in order of decreasing
+     * precedence; when more than one {@link Binding} has the same name, the first one is used.
+     *
+     * @param sources the sources to combine
+     * @return a combined {@code BindingSource}
+     * @see Bindings#merge(Binding[]...)
+     */
+    @NotNull
+    static BindingSource composite(@NotNull BindingSource... sources) {
+        Assert.notNull(sources, "sources must not be null");
+
+        BindingSource[] copy = sources.clone();
+        return () -> Bindings.merge(Stream.of(copy)
+            .map(BindingSource::getBindings)
+            .toArray(Binding[][]::new));
+    }
+
+    /**
+     * Returns a {@code BindingSource} that combines all sources registered with {@link ServiceLoader}, in the order
+     * they are found, followed by {@link #serviceBindingRoot()}.  When more than one {@link Binding} has the same name,
+     * the first one is used.
+     *
+     * @return a combined {@code BindingSource}
+     */
+    @NotNull
+    static BindingSource discover() {
+        return composite(Stream.concat(
+            ServiceLoader.load(BindingSource.class).stream().map(ServiceLoader.Provider::get),
+            Stream.of(serviceBindingRoot())
+        ).toArray(BindingSource[]::new));
+    }
+
+    /**
+     * Returns a {@code BindingSource} that reads {@link Binding}s from environment variables.
+     *
+     * @return a {@code BindingSource} that reads {@link Binding}s from environment variables
+     * @see Bindings#fromEnvironment()
+     */
+    @NotNull
+    static BindingSource environment() {
+        return Bindings::fromEnvironment;
+    }
+
+    /**
+     * Returns a {@code BindingSource} that reads {@link Binding}s from a path.
+     *
+     * @param root the root to populate the {@link Binding}s from
+     * @return a {@code BindingSource} that reads {@link Binding}s from a path
+     * @see Bindings#from(Path)
+     */
+    @NotNull
+    static BindingSource of(@NotNull Path root) {
+        Assert.notNull(root, "root must not be null");
+
+        return () -> Bindings.from(root);
+    }
+
+    /**
+     * Returns a {@code BindingSource} that reads {@link Binding}s from the {@code $SERVICE_BINDING_ROOT}.
+     *
+     * @return a {@code BindingSource} that reads {@link Binding}s from the {@code $SERVICE_BINDING_ROOT}
+     * @see Bindings#fromServiceBindingRoot()
+     */
+    @NotNull
+    static BindingSource serviceBindingRoot() {
+        return Bindings::fromServiceBindingRoot;
+    }
+
+    /**
+     * Returns a {@code BindingSource} that wraps each {@link Binding} of this source in a {@link CacheBinding}.  Values
+     * are cached for as long as the returned {@code Binding}s are used, typically by holding them with
+     * {@link #reloadable()}.
+     *
+     * @return a caching {@code BindingSource}
+     * @see Bindings#cached(Binding[])
+     */
+    @NotNull
+    default BindingSource cached() {
+        return () -> Bindings.cached(getBindings());
+    }
+
+    /**
+     * Returns a {@code BindingSource} that wraps each {@link Binding} of this source in a
+     * {@link CompressedCacheBinding}.  Large values are cached compressed.
+     *
+     * @return a compressing, caching {@code BindingSource}
+     * @see Bindings#compressed(Binding[])
+     */
+    @NotNull
+    default BindingSource compressed() {
+        return () -> Bindings.compressed(getBindings());
+    }
+
+    /**
+     * Returns a {@code BindingSource} that removes {@link Binding}s of this source with duplicate names, keeping the
+     * first one.
+     *
+     * @return a deduplicating {@code BindingSource}
+     * @see Bindings#merge(Binding[]...)
+     */
+    @NotNull
+    default BindingSource deduplicated() {
+        return () -> Bindings.merge(getBindings());
+    }
+
+    /**
+     * Returns a {@code BindingSource} that reports the {@link Binding}s of this source, and the time in nanoseconds it
+     * took to get them, to a listener each time they are requested.
+     *
+     * @param listener the listener to report to
+     * @return a metered {@code BindingSource}
+     */
+    @NotNull
+    default BindingSource metered(@NotNull ObjLongConsumer<Binding[]> listener) {
+        Assert.notNull(listener, "listener must not be null");
+
+        return () -> {
+            long start = System.nanoTime();
+            Binding[] bindings = getBindings();
+            listener.accept(bindings, System.nanoTime() - start);
+            return bindings;
+        };
+    }
+
+    /**
+     * Returns a {@code BindingSource} that reads the type and provider of each {@link Binding} of this source ahead of
+     * time.
+     *
+     * @return a prefetching {@code BindingSource}
+     * @see Bindings#prefetch(Binding[])
+     */
+    @NotNull
+    default BindingSource prefetched() {
+        return () -> Bindings.prefetch(getBindings());
+    }
+
+    /**
+     * Returns a {@link ReloadableBindings} that holds a snapshot of the {@link Binding}s of this source until it is
+     * reloaded.
+     *
+     * @return a {@link ReloadableBindings} over this source
+     */
+    @NotNull
+    default ReloadableBindings reloadable() {
+        return new ReloadableBindings(this::getBindings);
+    }
+
+    /**
+     * Returns a {@code BindingSource} that validates the {@link Binding}s of this source each time they are requested.
+     * Combined with {@link #reloadable()}, invalid {@code Binding}s fail the initial load, and a reload that finds
+     * invalid {@code Binding}s fails and leaves the previous snapshot in place.
+     *
+     * @param validator the {@link BindingValidator} to validate with
+     * @return a validating {@code BindingSource}
+     * @see BindingValidator#validate(Binding[])
+     */
+    @NotNull
+    default BindingSource validated(@NotNull BindingValidator validator) {
+        Assert.notNull(validator, "validator must not be null");
+
+        return () -> validator.validate(getBindings());
+    }
+
+}
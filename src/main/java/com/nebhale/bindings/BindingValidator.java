@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Validates {@link Binding}s against the {@link BindingSchema} registered for their type.  Schemas are compiled once,
+ * when the validator is created, into flat arrays of keys and formats.  {@code Binding}s whose type has no schema only
+ * need to contain a type.  Instances are immutable and safe for concurrent use.
+ */
+public final class BindingValidator {
+
+    private final Map<String, Rules> rules;
+
+    private BindingValidator(Map<String, Rules> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Creates a {@code BindingValidator} from a collection of {@link BindingSchema}s.
+     *
+     * @param schemas the {@code BindingSchema}s to compile
+     * @return the {@code BindingValidator}
+     * @throws IllegalArgumentException if more than one schema is given for a type
+     */
+    @NotNull
+    public static BindingValidator of(@NotNull BindingSchema... schemas) {
+        Assert.notNull(schemas, "schemas must not be null");
+
+        Map<String, Rules> rules = new HashMap<>();
+        for (BindingSchema schema : schemas) {
+            Assert.notNull(schema, "schemas must not contain null");
+
+            String type = Index.normalize(schema.getType());
+            if (rules.putIfAbsent(type, new Rules(schema)) != null) {
+                throw new IllegalArgumentException(String.format("more than one schema for type '%s'", type));
+            }
+        }
+
+        return new BindingValidator(rules);
+    }
+
+    /**
+     * Validates a {@link Binding}.
+     *
+     * @param binding the {@code Binding} to validate
+     * @return the validated {@code Binding}
+     * @throws IllegalStateException if the {@code Binding} is not valid
+     */
+    @NotNull
+    public ValidatedBinding validate(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        return new ValidatedBinding(binding, this);
+    }
+
+    /**
+     * Validates a collection of {@link Binding}s.  Every {@code Binding} is validated before failing, so that all of
+     * the problems are reported together.
+     *
+     * @param bindings the {@code Binding}s to validate
+     * @return the validated {@code Binding}s
+     * @throws IllegalStateException if any of the {@code Binding}s is not valid
+     */
+    @NotNull
+    public ValidatedBinding[] validate(@NotNull Binding[] bindings) {
+        Assert.notNull(bindings, "bindings must not be null");
+
+        ValidatedBinding[] validated = new ValidatedBinding[bindings.length];
+        List<String> failures = new ArrayList<>();
+
+        for (int i = 0; i < bindings.length; i++) {
+            try {
+                validated[i] = validate(bindings[i]);
+            } catch (IllegalStateException e) {
+                failures.add(e.getMessage());
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(String.join("; ", failures));
+        }
+
+        return validated;
+    }
+
+    @NotNull
+    List<String> violations(@NotNull Binding binding) {
+        String type = binding.get(Binding.TYPE);
+        if (type == null) {
+            return Collections.singletonList("does not contain a type");
+        }
+
+        Rules r = rules.get(Index.normalize(type));
+        return r == null ? Collections.emptyList() : r.violations(binding);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "BindingValidator{" +
+            "types=" + rules.keySet() +
+            '}';
+    }
+
+    private static final class Rules {
+
+        private final String[] keys;
+
+        private final boolean[] required;
+
+        private final Predicate<String>[] formats;
+
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private Rules(BindingSchema schema) {
+            int size = schema.getRequired().size() + schema.getOptional().size();
+
+            this.keys = new String[size];
+            this.required = new boolean[size];
+            this.formats = new Predicate[size];
+
+            int i = 0;
+            for (Map.Entry<String, Predicate<String>> entry : schema.getRequired().entrySet()) {
+                keys[i] = entry.getKey();
+                required[i] = true;
+                formats[i++] = entry.getValue();
+            }
+            for (Map.Entry<String, Predicate<String>> entry : schema.getOptional().entrySet()) {
+                keys[i] = entry.getKey();
+                formats[i++] = entry.getValue();
+            }
+        }
+
+        private List<String> violations(Binding binding) {
+            List<String> violations = new ArrayList<>();
+
+            for (int i = 0; i < keys.length; i++) {
+                String value = binding.get(keys[i]);
+
+                if (value == null) {
+                    if (required[i]) {
+                        violations.add(String.format("does not contain required entry '%s'", keys[i]));
+                    }
+                } else if (!formats[i].test(value)) {
+                    violations.add(String.format("has an invalid value for entry '%s'", keys[i]));
+                }
+            }
+
+            return violations;
+        }
+
+    }
+
+}
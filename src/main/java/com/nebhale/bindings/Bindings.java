@@ -20,9 +20,20 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -37,6 +48,11 @@ public final class Bindings {
      */
     public static final String SERVICE_BINDING_ROOT = "SERVICE_BINDING_ROOT";
 
+    /**
+     * The prefix of environment variables read by {@link #fromEnvironment()}.
+     */
+    public static final String ENVIRONMENT_PREFIX = "BINDING_";
+
     private Bindings() {
     }
 
@@ -55,6 +71,22 @@ public final class Bindings {
             .toArray(Binding[]::new);
     }
 
+    /**
+     * Wraps each {@link Binding} in a {@link CompressedCacheBinding} with the default threshold and number of hot
+     * values.
+     *
+     * @param bindings the {@link Binding}s to wrap
+     * @return the wrapped {@link Binding}s
+     */
+    @NotNull
+    public static Binding[] compressed(@NotNull Binding[] bindings) {
+        Assert.notNull(bindings, "bindings must not be null");
+
+        return Stream.of(bindings)
+            .map(CompressedCacheBinding::new)
+            .toArray(Binding[]::new);
+    }
+
     /**
      * Creates a collection of {@link Binding}s, from the specified path.  If the directory does not exist, an empty
      * collection is returned.
@@ -80,6 +112,194 @@ public final class Bindings {
         }
     }
 
+    /**
+     * Starts discovering the {@link Binding}s under the specified path and reading all of their entries in the
+     * background.  Discovery and reads run on virtual threads.
+     *
+     * @param root the root to populate the {@link Binding}s from
+     * @return a handle to the {@code Binding}s
+     * @see #preload(Path, Executor)
+     */
+    @NotNull
+    public static PreloadedBindings preload(@NotNull Path root) {
+        return preload(root, Async.executor());
+    }
+
+    /**
+     * Starts discovering the {@link Binding}s under the specified path and reading all of their entries in the
+     * background.  Call this early during startup so that the reads overlap with other initialization; later calls on
+     * the returned handle wait only for data that has not yet been loaded.
+     *
+     * @param root     the root to populate the {@link Binding}s from
+     * @param executor the {@link Executor} to discover and read on
+     * @return a handle to the {@code Binding}s
+     */
+    @NotNull
+    public static PreloadedBindings preload(@NotNull Path root, @NotNull Executor executor) {
+        Assert.notNull(root, "root must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        return new PreloadedBindings(root, executor, Bindings::keys);
+    }
+
+    /**
+     * Starts discovering the {@link Binding}s under the specified path and reading the entries in an
+     * {@link AccessProfile} in the background.  Entries that are not in the profile are read lazily.  Discovery and
+     * reads run on virtual threads.
+     *
+     * @param root    the root to populate the {@link Binding}s from
+     * @param profile the entries to read
+     * @return a handle to the {@code Binding}s
+     * @see AccessProfile#record(Binding[], java.time.Duration, Path)
+     */
+    @NotNull
+    public static PreloadedBindings preload(@NotNull Path root, @NotNull AccessProfile profile) {
+        return preload(root, profile, Async.executor());
+    }
+
+    /**
+     * Starts discovering the {@link Binding}s under the specified path and reading the entries in an
+     * {@link AccessProfile} in the background.  Entries that are not in the profile are read lazily.
+     *
+     * @param root     the root to populate the {@link Binding}s from
+     * @param profile  the entries to read
+     * @param executor the {@link Executor} to discover and read on
+     * @return a handle to the {@code Binding}s
+     * @see AccessProfile#record(Binding[], java.time.Duration, Path)
+     */
+    @NotNull
+    public static PreloadedBindings preload(@NotNull Path root, @NotNull AccessProfile profile,
+                                            @NotNull Executor executor) {
+
+        Assert.notNull(root, "root must not be null");
+        Assert.notNull(profile, "profile must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        return new PreloadedBindings(root, executor, binding -> profile.getKeys(binding.getName()));
+    }
+
+    /**
+     * Creates a collection of {@link Binding}s from several paths.  Paths are given in order of decreasing precedence;
+     * when {@code Binding}s under more than one path have the same name, the one from the earliest path is used.
+     * Directories that do not exist are ignored.
+     *
+     * @param roots the roots to populate the {@link Binding}s from
+     * @return a collection of {@link Binding}s
+     * @see #merge(Binding[]...)
+     */
+    @NotNull
+    public static Binding[] from(@NotNull Path... roots) {
+        Assert.notNull(roots, "roots must not be null");
+
+        return merge(Stream.of(roots)
+            .map(Bindings::from)
+            .toArray(Binding[][]::new));
+    }
+
+    /**
+     * Creates a collection of {@link Binding}s from the specified path without blocking the caller.  The directory is
+     * listed on a virtual thread.
+     *
+     * @param root the root to populate the {@link Binding}s from
+     * @return a {@link CompletableFuture} that completes with a collection of {@link Binding}s
+     * @see #from(Path)
+     */
+    @NotNull
+    public static CompletableFuture<Binding[]> fromAsync(@NotNull Path root) {
+        return fromAsync(root, Async.executor());
+    }
+
+    /**
+     * Creates a collection of {@link Binding}s from the specified path without blocking the caller.  The directory is
+     * listed on an {@link Executor}.
+     *
+     * @param root     the root to populate the {@link Binding}s from
+     * @param executor the {@code Executor} to list the directory on
+     * @return a {@link CompletableFuture} that completes with a collection of {@link Binding}s
+     * @see #from(Path)
+     */
+    @NotNull
+    public static CompletableFuture<Binding[]> fromAsync(@NotNull Path root, @NotNull Executor executor) {
+        Assert.notNull(root, "root must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        return CompletableFuture.supplyAsync(() -> from(root), executor);
+    }
+
+    /**
+     * Merges several collections of {@link Binding}s into one.  Collections are given in order of decreasing
+     * precedence; when more than one {@code Binding} has the same name, the first one is used.  Comparison of names
+     * is case-insensitive.
+     *
+     * @param bindings the collections of {@link Binding}s to merge
+     * @return the merged collection of {@link Binding}s
+     */
+    @NotNull
+    public static Binding[] merge(@NotNull Binding[]... bindings) {
+        Assert.notNull(bindings, "bindings must not be null");
+
+        Map<String, Binding> merged = new LinkedHashMap<>();
+        for (Binding[] candidates : bindings) {
+            Assert.notNull(candidates, "bindings must not contain null");
+
+            for (Binding candidate : candidates) {
+                merged.putIfAbsent(Index.normalize(candidate.getName()), candidate);
+            }
+        }
+
+        return merged.values().toArray(new Binding[0]);
+    }
+
+    /**
+     * Compares two collections of {@link Binding}s and reports the {@code Binding}s and entries that were added,
+     * removed, or changed.  {@code Binding}s are matched by name, ignoring case.  A {@code Binding} that appears in
+     * both collections as the same instance is not read, and entries are compared only when both versions have them.
+     *
+     * @param before the earlier collection of {@code Binding}s
+     * @param after  the later collection of {@code Binding}s
+     * @return the differences between the collections
+     * @throws IllegalArgumentException if a {@code Binding} in both collections is not an {@link EnumerableBinding}
+     */
+    @NotNull
+    public static BindingsDiff diff(@NotNull Binding[] before, @NotNull Binding[] after) {
+        Assert.notNull(before, "before must not be null");
+        Assert.notNull(after, "after must not be null");
+
+        return BindingsDiff.of(before, after);
+    }
+
+    /**
+     * Compares two versions of a {@link Binding} and reports the entries that were added, removed, or changed.  When
+     * both versions are {@link FingerprintedBinding}s, entries with equal fingerprints are not read.
+     *
+     * @param before the earlier version of the {@code Binding}
+     * @param after  the later version of the {@code Binding}
+     * @return the differences between the versions
+     * @throws IllegalArgumentException if either {@code Binding} is not an {@link EnumerableBinding}
+     */
+    @NotNull
+    public static BindingDiff diff(@NotNull Binding before, @NotNull Binding after) {
+        Assert.notNull(before, "before must not be null");
+        Assert.notNull(after, "after must not be null");
+
+        return BindingDiff.of(before, after);
+    }
+
+    /**
+     * Creates a collection of {@link Binding}s from a snapshot file written by {@link #toSnapshot(Binding[], Path)}.
+     * The file is memory-mapped and values are read from the mapping on each access, so processes that load the same
+     * snapshot share its pages.  On file systems that cannot map files, the file is read into memory instead.
+     *
+     * @param file the snapshot file
+     * @return a collection of {@link Binding}s
+     * @throws IllegalStateException if the file cannot be read or is not a snapshot
+     */
+    @NotNull
+    public static Binding[] fromSnapshot(@NotNull Path file) {
+        Assert.notNull(file, "file must not be null");
+
+        return BindingSnapshot.read(file);
+    }
 
     /**
      * Creates a new collection of {@link Binding}s using the {@code $SERVICE_BINDING_ROOT} environment variable to
@@ -101,6 +321,94 @@ public final class Bindings {
         return from(Paths.get(root));
     }
 
+    /**
+     * Wraps each {@link Binding} in a {@link CacheBinding} and reads its type and provider, concurrently on virtual
+     * threads, ahead of time.  Later calls to {@link #filter(Binding[], String, String)} on the returned
+     * {@code Binding}s do not read from the original {@code Binding}s.
+     *
+     * @param bindings the {@link Binding}s to prefetch
+     * @return the prefetched {@link Binding}s
+     */
+    @NotNull
+    public static Binding[] prefetch(@NotNull Binding[] bindings) {
+        Assert.notNull(bindings, "bindings must not be null");
+
+        // reads block on I/O, so they run on virtual threads rather than the common pool
+        List<CompletableFuture<Binding>> prefetched = Stream.of(bindings)
+            .map(b -> CompletableFuture.supplyAsync(() -> prefetch(b), Async.executor()))
+            .collect(Collectors.toList());
+
+        return prefetched.stream()
+            .map(Async::join)
+            .toArray(Binding[]::new);
+    }
+
+    private static Binding prefetch(Binding binding) {
+        if (binding instanceof PrefetchedBinding) {
+            return binding;
+        }
+
+        if (!(binding instanceof CacheBinding)) {
+            binding = new CacheBinding(binding);
+        }
+
+        return new PrefetchedBinding(binding);
+    }
+
+    /**
+     * Creates a collection of {@link Binding}s from environment variables named {@code BINDING_<NAME>__<KEY>} or
+     * {@code BINDING_<NAME>_<KEY>}.  If the variable name contains a double underscore, the name of each
+     * {@code Binding} is the segment after the {@link #ENVIRONMENT_PREFIX} up to the first double underscore and the
+     * key of each entry is the remainder, so both may contain single underscores.  Otherwise, the name ends at the next
+     * single underscore.  Both are lowercased, and within both {@code _DOT_} stands for {@code .} and {@code _DASH_}
+     * for {@code -}.  For example, {@code BINDING_DB_TYPE} becomes the {@code type} entry of a {@code Binding} named
+     * {@code db}, and {@code BINDING_MY_DASH_DB__TLS_DOT_CRT} becomes the {@code tls.crt} entry of a {@code Binding}
+     * named {@code my-db}.  The environment is read once and each {@code Binding} holds only its own entries.
+     *
+     * @return a collection of {@link Binding}s
+     */
+    @NotNull
+    public static Binding[] fromEnvironment() {
+        return fromEnvironment(System.getenv());
+    }
+
+    static Binding[] fromEnvironment(Map<String, String> environment) {
+        Map<String, Map<String, byte[]>> bindings = new TreeMap<>();
+
+        for (Map.Entry<String, String> entry : environment.entrySet()) {
+            String variable = entry.getKey();
+            if (!variable.startsWith(ENVIRONMENT_PREFIX)) {
+                continue;
+            }
+
+            int separator = variable.indexOf("__", ENVIRONMENT_PREFIX.length());
+            int start = separator + 2;
+            if (separator < 0) {
+                separator = variable.indexOf('_', ENVIRONMENT_PREFIX.length());
+                start = separator + 1;
+            }
+
+            if (separator <= ENVIRONMENT_PREFIX.length() || start >= variable.length()) {
+                continue;
+            }
+
+            String name = unescape(variable.substring(ENVIRONMENT_PREFIX.length(), separator));
+            String key = unescape(variable.substring(start));
+            bindings.computeIfAbsent(name, n -> new HashMap<>())
+                .put(key, entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bindings.entrySet().stream()
+            .map(e -> new MapBinding(e.getKey(), Map.copyOf(e.getValue())))
+            .toArray(Binding[]::new);
+    }
+
+    private static String unescape(String segment) {
+        return segment.toLowerCase(Locale.ROOT)
+            .replace("_dot_", ".")
+            .replace("_dash_", "-");
+    }
+
     /**
      * Returns a {@link Binding} with a given name. Comparison is case-insensitive.
      *
@@ -133,11 +441,73 @@ public final class Bindings {
         Assert.notNull(bindings, "bindings must not be null");
 
         return Stream.of(bindings)
-            .filter(b -> type == null || b.getType().equalsIgnoreCase(type))
-            .filter(b -> provider == null || b.getProvider() != null && b.getProvider().equalsIgnoreCase(provider))
+            .filter(b -> type == null || isType(b, type))
+            .filter(b -> provider == null || b.contentEqualsIgnoreCase(Binding.PROVIDER, provider))
             .toArray(Binding[]::new);
     }
 
+    private static boolean isType(Binding binding, String type) {
+        CharSequence value = binding.getAsCharSequence(Binding.TYPE);
+
+        if (value == null) {
+            throw new IllegalStateException("binding does not contain a type");
+        }
+
+        return Content.equals(value, type, true);
+    }
+
+    /**
+     * Projects a {@link Binding} onto a record.  Each record component is read from the entry named by its
+     * {@link BindingKey} annotation or, if it is not annotated, by its name converted from camel case to kebab case, so
+     * that {@code caCert} is read from {@code ca-cert}.  Components may be {@code String}, {@code byte[]},
+     * {@code int}, {@code long}, {@code double}, {@code boolean}, their boxed types, or {@link java.net.URI}.  Missing
+     * entries are {@code null} for reference types.  The mapping for each record type is created once and reused.
+     *
+     * @param binding the {@code Binding} to project
+     * @param type    the type of record to project onto
+     * @param <R>     the type of record to project onto
+     * @return a new record
+     * @throws IllegalArgumentException if the type is not a record or has a component of an unsupported type
+     * @throws IllegalStateException    if an entry for a primitive component is missing or an entry cannot be converted
+     */
+    @NotNull
+    public static <R extends Record> R project(@NotNull Binding binding, @NotNull Class<R> type) {
+        Assert.notNull(binding, "binding must not be null");
+        Assert.notNull(type, "type must not be null");
+
+        return RecordMapper.of(type).map(binding);
+    }
+
+    /**
+     * Writes all the entries of a collection of {@link Binding}s to a compact, versioned, binary snapshot file that
+     * can be loaded with {@link #fromSnapshot(Path)}.  The file is replaced atomically where the file system allows it,
+     * and is readable by its owner and group ({@code 0640}) on POSIX file systems.
+     *
+     * @param bindings the {@link Binding}s to write
+     * @param file     the snapshot file
+     * @throws IllegalStateException    if the file cannot be written
+     * @throws IllegalArgumentException if a {@code Binding} is not an {@link EnumerableBinding}
+     */
+    public static void toSnapshot(@NotNull Binding[] bindings, @NotNull Path file) {
+        Assert.notNull(bindings, "bindings must not be null");
+        Assert.notNull(file, "file must not be null");
+
+        BindingSnapshot.write(bindings, file);
+    }
+
+    /*
+     * Returns the keys of a binding that operations visiting every entry require to be an EnumerableBinding.
+     */
+    @NotNull
+    static Set<String> keys(@NotNull Binding binding) {
+        if (!(binding instanceof EnumerableBinding)) {
+            throw new IllegalArgumentException(
+                String.format("binding '%s' cannot enumerate its entries", binding.getName()));
+        }
+
+        return ((EnumerableBinding) binding).getKeys();
+    }
+
     /**
      * Returns zero or more {@link Binding}s with a given type.  Equivalent to
      * {@link #filter(Binding[], String, String)} with a {@code null} {@code provider}.
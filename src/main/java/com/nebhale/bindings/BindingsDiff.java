@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The differences between two collections of {@link Binding}s.  {@code Binding}s are matched by name, ignoring case.
+ *
+ * @see Bindings#diff(Binding[], Binding[])
+ */
+public final class BindingsDiff {
+
+    private final Set<String> added;
+
+    private final Set<String> removed;
+
+    private final Map<String, BindingDiff> changed;
+
+    private BindingsDiff(Set<String> added, Set<String> removed, Map<String, BindingDiff> changed) {
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.changed = Collections.unmodifiableMap(changed);
+    }
+
+    @NotNull
+    static BindingsDiff of(@NotNull Binding[] before, @NotNull Binding[] after) {
+        Map<String, Binding> remaining = new LinkedHashMap<>();
+        for (Binding binding : before) {
+            remaining.putIfAbsent(Index.normalize(binding.getName()), binding);
+        }
+
+        Set<String> added = new TreeSet<>();
+        Map<String, BindingDiff> changed = new TreeMap<>();
+
+        for (Binding binding : after) {
+            Binding previous = remaining.remove(Index.normalize(binding.getName()));
+
+            if (previous == null) {
+                added.add(binding.getName());
+                continue;
+            }
+
+            BindingDiff diff = BindingDiff.of(previous, binding);
+            if (!diff.isEmpty()) {
+                changed.put(binding.getName(), diff);
+            }
+        }
+
+        Set<String> removed = new TreeSet<>();
+        for (Binding binding : remaining.values()) {
+            removed.add(binding.getName());
+        }
+
+        return new BindingsDiff(added, removed, changed);
+    }
+
+    /**
+     * Returns the names of the {@link Binding}s that exist only in the later collection.
+     *
+     * @return the names of the added {@code Binding}s
+     */
+    @NotNull
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the names of the {@link Binding}s that exist only in the earlier collection.
+     *
+     * @return the names of the removed {@code Binding}s
+     */
+    @NotNull
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the differences of the {@link Binding}s that exist in both collections with different entries, keyed by
+     * name.
+     *
+     * @return the differences of the changed {@code Binding}s
+     */
+    @NotNull
+    public Map<String, BindingDiff> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Returns whether the two collections contain the same {@link Binding}s with the same entries.
+     *
+     * @return {@code true} if there are no differences, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BindingsDiff that = (BindingsDiff) o;
+        return added.equals(that.added) && removed.equals(that.removed) && changed.equals(that.changed);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(added, removed, changed);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "BindingsDiff{" +
+            "added=" + added +
+            ", removed=" + removed +
+            ", changed=" + changed.keySet() +
+            '}';
+    }
+
+}
@@ -19,18 +19,22 @@ package com.nebhale.bindings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
- * An implementation of {@link Binding} that caches values once they've been retrieved.
+ * An implementation of {@link Binding} that caches values once they've been retrieved.  Instances are safe for
+ * concurrent use.
  */
-public final class CacheBinding implements Binding {
+public final class CacheBinding implements EnumerableBinding {
 
     private final Binding delegate;
 
-    private final Map<String, byte[]> cache = new HashMap<>();
+    private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@code CacheBinding} instance.
@@ -47,6 +51,36 @@ public final class CacheBinding implements Binding {
         return cache.computeIfAbsent(key, delegate::getAsBytes);
     }
 
+    /**
+     * Returns the contents of a binding entry without blocking the caller.  If the entry has already been cached, the
+     * returned future is already complete and the {@link Executor} is not used.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        byte[] value = cache.get(key);
+
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+
+        return CompletableFuture.supplyAsync(() -> getAsBytes(key), executor);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return Bindings.keys(delegate);
+    }
+
     @NotNull
     @Override
     public String getName() {
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link Binding} that caches values once they've been retrieved, storing values larger than a
+ * threshold compressed.  Compressed values are decompressed on access, and a small cache holds the most recently used
+ * decompressed values.  Values that do not compress are stored as they are.  Instances are safe for concurrent use.
+ */
+public final class CompressedCacheBinding implements EnumerableBinding {
+
+    /**
+     * The default size, in bytes, above which values are compressed.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    /**
+     * The default number of recently used decompressed values to hold.
+     */
+    public static final int DEFAULT_HOT_VALUES = 8;
+
+    private final Binding delegate;
+
+    private final int threshold;
+
+    private final Map<String, Stored> cache = new ConcurrentHashMap<>();
+
+    private final Map<String, byte[]> hot;
+
+    /**
+     * Creates a new {@code CompressedCacheBinding} instance with the default threshold and number of hot values.
+     *
+     * @param delegate the {@link Binding} used to retrieve original values
+     */
+    public CompressedCacheBinding(@NotNull Binding delegate) {
+        this(delegate, DEFAULT_THRESHOLD, DEFAULT_HOT_VALUES);
+    }
+
+    /**
+     * Creates a new {@code CompressedCacheBinding} instance.
+     *
+     * @param delegate  the {@link Binding} used to retrieve original values
+     * @param threshold the size, in bytes, above which values are compressed
+     * @param hotValues the number of recently used decompressed values to hold
+     */
+    public CompressedCacheBinding(@NotNull Binding delegate, int threshold, int hotValues) {
+        Assert.notNull(delegate, "delegate must not be null");
+
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+
+        if (hotValues < 0) {
+            throw new IllegalArgumentException("hotValues must not be negative");
+        }
+
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.hot = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > hotValues;
+            }
+
+        };
+    }
+
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        Stored stored = cache.computeIfAbsent(key, k -> store(delegate.getAsBytes(k)));
+
+        if (stored == null) {
+            return null;
+        }
+
+        if (stored.length < 0) {
+            return stored.content;
+        }
+
+        synchronized (hot) {
+            byte[] value = hot.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        byte[] value = inflate(stored);
+        synchronized (hot) {
+            hot.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the contents of a binding entry without blocking the caller.  If the entry has already been cached, the
+     * returned future is already complete and the {@link Executor} is not used; a compressed value is decompressed on
+     * the calling thread.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        if (cache.containsKey(key)) {
+            return CompletableFuture.completedFuture(getAsBytes(key));
+        }
+
+        return CompletableFuture.supplyAsync(() -> getAsBytes(key), executor);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return Bindings.keys(delegate);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /**
+     * Returns the number of bytes held by the cache for values, counting compressed values at their compressed size and
+     * excluding the decompressed values held for recent use.
+     *
+     * @return the number of bytes held by the cache for values
+     */
+    public long getStoredSize() {
+        return cache.values().stream()
+            .mapToLong(stored -> stored.content.length)
+            .sum();
+    }
+
+    /**
+     * Returns the number of bytes held by the cache for the decompressed values held for recent use.
+     *
+     * @return the number of bytes held by the cache for recently used values
+     * @see #getStoredSize()
+     */
+    public long getHotSize() {
+        synchronized (hot) {
+            return hot.values().stream()
+                .mapToLong(value -> value.length)
+                .sum();
+        }
+    }
+
+    @Nullable
+    private Stored store(@Nullable byte[] value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value.length <= threshold) {
+            return new Stored(value, -1);
+        }
+
+        byte[] compressed = deflate(value);
+        if (compressed.length >= value.length) {
+            return new Stored(value, -1);
+        }
+
+        return new Stored(compressed, value.length);
+    }
+
+    private static byte[] deflate(byte[] value) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(value);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(value.length / 2);
+            byte[] buffer = new byte[Math.min(value.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] inflate(Stored stored) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored.content);
+
+            byte[] value = new byte[stored.length];
+            int offset = 0;
+            while (offset < value.length && !inflater.finished()) {
+                int inflated = inflater.inflate(value, offset, value.length - offset);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("truncated input");
+                }
+                offset += inflated;
+            }
+            return value;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(String.format("unable to decompress value of binding '%s'",
+                delegate.getName()), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompressedCacheBinding that = (CompressedCacheBinding) o;
+        return delegate.equals(that.delegate);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "CompressedCacheBinding{" +
+            "delegate=" + delegate +
+            '}';
+    }
+
+    /*
+     * A length of -1 means the content is stored uncompressed.
+     */
+    private static final class Stored {
+
+        private final byte[] content;
+
+        private final int length;
+
+        private Stored(byte[] content, int length) {
+            this.content = content;
+            this.length = length;
+        }
+
+    }
+
+}
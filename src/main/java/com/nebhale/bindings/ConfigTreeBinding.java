@@ -20,15 +20,28 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An implementation of {@link Binding} that reads files from a
  * <a href="https://kubernetes.io/docs/concepts/configuration/secret/#using-secrets">volume mounted</a> Kubernetes
- * Secret.
+ * Secret.  The fingerprint of an entry is the size, modification time, and file key (the inode on most platforms) of
+ * its file, so a file rewritten in place with the same size within the resolution of its modification time keeps its
+ * fingerprint.
  */
-public final class ConfigTreeBinding implements Binding {
+public final class ConfigTreeBinding implements EnumerableBinding, FingerprintedBinding {
 
     private final Path root;
 
@@ -45,6 +58,64 @@ public final class ConfigTreeBinding implements Binding {
     @Nullable
     @Override
     public byte[] getAsBytes(@NotNull String key) {
+        Path path = resolve(key);
+
+        if (path == null) {
+            return null;
+        }
+
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read file '%s'", path), e);
+        }
+    }
+
+    @Override
+    public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        Assert.notNull(dst, "dst must not be null");
+
+        Path path = resolve(key);
+
+        if (path == null) {
+            return -1;
+        }
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+
+            if (size > dst.remaining()) {
+                throw new BufferOverflowException();
+            }
+
+            int start = dst.position();
+            while (dst.position() - start < size && channel.read(dst) >= 0) {
+                // read until the whole file has been written
+            }
+
+            return dst.position() - start;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read file '%s'", path), e);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        try (Stream<Path> children = Files.list(root)) {
+            return children
+                .filter(Files::isRegularFile)
+                .map(path -> path.getFileName().toString())
+                .filter(Secret::isValidSecretKey)
+                .collect(Collectors.toCollection(TreeSet::new));
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to list children of '%s'", root), e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Object getFingerprint(@NotNull String key) {
         Assert.notNull(key, "key must not be null");
 
         if (!Secret.isValidSecretKey(key)) {
@@ -53,19 +124,20 @@ public final class ConfigTreeBinding implements Binding {
 
         Path path = root.resolve(key);
 
-        if (!Files.exists(path)) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
             return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read attributes of '%s'", path), e);
         }
 
-        if (!Files.isRegularFile(path)) {
+        if (!attributes.isRegularFile()) {
             return null;
         }
 
-        try {
-            return Files.readAllBytes(path);
-        } catch (IOException e) {
-            throw new IllegalStateException(String.format("unable to read file '%s'", path), e);
-        }
+        return fingerprint(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey());
     }
 
     @NotNull
@@ -74,6 +146,36 @@ public final class ConfigTreeBinding implements Binding {
         return root.getFileName().toString();
     }
 
+    /*
+     * Without a file key, files in different directories could have the same size and modification time, so they are
+     * not fingerprinted.
+     */
+    @Nullable
+    static Object fingerprint(long size, @NotNull FileTime modified, @Nullable Object fileKey) {
+        return fileKey == null ? null : Arrays.asList(size, modified, fileKey);
+    }
+
+    @Nullable
+    private Path resolve(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        if (!Secret.isValidSecretKey(key)) {
+            return null;
+        }
+
+        Path path = root.resolve(key);
+
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        return path;
+    }
+
     @Generated
     @Override
     public boolean equals(Object o) {
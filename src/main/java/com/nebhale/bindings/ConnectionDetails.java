@@ -0,0 +1,339 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The parsed connection details of a service {@link Binding}: the addresses to connect to, the credentials to connect
+ * with, and whether to use TLS.  Created by the adapters of {@link ProjectionRegistry#connectionDetails()}.
+ */
+public final class ConnectionDetails {
+
+    private final List<Address> addresses;
+
+    private final String username;
+
+    private final String password;
+
+    private final String database;
+
+    private final boolean tls;
+
+    ConnectionDetails(@NotNull List<Address> addresses, @Nullable String username, @Nullable String password,
+                      @Nullable String database, boolean tls) {
+
+        this.addresses = Collections.unmodifiableList(new ArrayList<>(addresses));
+        this.username = username;
+        this.password = password;
+        this.database = database;
+        this.tls = tls;
+    }
+
+    /**
+     * Returns the addresses to connect to, in order of preference.
+     *
+     * @return the addresses to connect to
+     */
+    @NotNull
+    public List<Address> getAddresses() {
+        return addresses;
+    }
+
+    /**
+     * Returns the database, virtual host, or equivalent namespace to connect to.
+     *
+     * @return the database to connect to if specified, otherwise {@code null}
+     */
+    @Nullable
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * Returns the password to connect with.
+     *
+     * @return the password to connect with if specified, otherwise {@code null}
+     */
+    @Nullable
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Returns the username to connect with.
+     *
+     * @return the username to connect with if specified, otherwise {@code null}
+     */
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns whether to connect with TLS.
+     *
+     * @return whether to connect with TLS
+     */
+    public boolean isTls() {
+        return tls;
+    }
+
+    /*
+     * Uses host, port, database, username, password, and sslmode, where TLS is used for require, verify-ca, and
+     * verify-full.
+     */
+    @NotNull
+    static ConnectionDetails postgresql(@NotNull Binding binding) {
+        return new ConnectionDetails(
+            Collections.singletonList(address(binding, 5432)),
+            binding.get("username"),
+            binding.get("password"),
+            binding.get("database"),
+            oneOf(binding.get("sslmode"), "require", "verify-ca", "verify-full")
+        );
+    }
+
+    /*
+     * Uses host, port, database, username, password, and ssl-mode, where TLS is used for required, verify_ca, and
+     * verify_identity.
+     */
+    @NotNull
+    static ConnectionDetails mysql(@NotNull Binding binding) {
+        return new ConnectionDetails(
+            Collections.singletonList(address(binding, 3306)),
+            binding.get("username"),
+            binding.get("password"),
+            binding.get("database"),
+            oneOf(binding.get("ssl-mode"), "required", "verify_ca", "verify_identity")
+        );
+    }
+
+    /*
+     * Uses host, port, database, username, password, and ssl.
+     */
+    @NotNull
+    static ConnectionDetails redis(@NotNull Binding binding) {
+        return new ConnectionDetails(
+            Collections.singletonList(address(binding, 6379)),
+            binding.get("username"),
+            binding.get("password"),
+            binding.get("database"),
+            oneOf(binding.get("ssl"), "true")
+        );
+    }
+
+    /*
+     * Uses bootstrap-servers, username, password, and security.protocol, where TLS is used for SSL and SASL_SSL.
+     */
+    @NotNull
+    static ConnectionDetails kafka(@NotNull Binding binding) {
+        String servers = binding.get("bootstrap-servers");
+        if (servers == null) {
+            throw new IllegalStateException(
+                String.format("binding '%s' does not contain bootstrap-servers", binding.getName()));
+        }
+
+        return new ConnectionDetails(
+            addresses(binding, servers, 9092),
+            binding.get("username"),
+            binding.get("password"),
+            null,
+            oneOf(binding.get("security.protocol"), "ssl", "sasl_ssl")
+        );
+    }
+
+    /*
+     * Uses addresses, or host and port, and virtual-host, username, password, and ssl.  The default port is 5671 with
+     * TLS and 5672 without.
+     */
+    @NotNull
+    static ConnectionDetails rabbitmq(@NotNull Binding binding) {
+        boolean tls = oneOf(binding.get("ssl"), "true");
+        int port = tls ? 5671 : 5672;
+
+        String addresses = binding.get("addresses");
+
+        return new ConnectionDetails(
+            addresses == null ? Collections.singletonList(address(binding, port)) : addresses(binding, addresses, port),
+            binding.get("username"),
+            binding.get("password"),
+            binding.get("virtual-host"),
+            tls
+        );
+    }
+
+    private static Address address(Binding binding, int defaultPort) {
+        String host = binding.get("host");
+        if (host == null) {
+            throw new IllegalStateException(String.format("binding '%s' does not contain a host", binding.getName()));
+        }
+
+        String port = binding.get("port");
+        return new Address(host, port == null ? defaultPort : port(binding, port));
+    }
+
+    /*
+     * Parses a comma-separated list of host[:port], where IPv6 hosts with a port are enclosed in brackets.
+     */
+    private static List<Address> addresses(Binding binding, String value, int defaultPort) {
+        List<Address> addresses = new ArrayList<>();
+
+        for (String s : value.split(",")) {
+            s = s.trim();
+            if (s.isEmpty()) {
+                continue;
+            }
+
+            int colon = s.lastIndexOf(':');
+            if (s.startsWith("[")) {
+                int bracket = s.indexOf(']');
+                if (bracket < 0) {
+                    throw new IllegalStateException(
+                        String.format("binding '%s' contains an invalid address '%s'", binding.getName(), s));
+                }
+
+                addresses.add(new Address(s.substring(1, bracket),
+                    colon > bracket ? port(binding, s.substring(colon + 1)) : defaultPort));
+            } else if (colon >= 0 && colon == s.indexOf(':')) {
+                addresses.add(new Address(s.substring(0, colon), port(binding, s.substring(colon + 1))));
+            } else {
+                addresses.add(new Address(s, defaultPort));
+            }
+        }
+
+        if (addresses.isEmpty()) {
+            throw new IllegalStateException(
+                String.format("binding '%s' does not contain an address", binding.getName()));
+        }
+
+        return addresses;
+    }
+
+    private static boolean oneOf(@Nullable String value, String... candidates) {
+        return value != null && Set.of(candidates).contains(value.toLowerCase(Locale.ROOT));
+    }
+
+    private static int port(Binding binding, String value) {
+        try {
+            int port = Integer.parseInt(value);
+
+            if (port >= 1 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+
+        throw new IllegalStateException(
+            String.format("binding '%s' contains an invalid port '%s'", binding.getName(), value));
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConnectionDetails that = (ConnectionDetails) o;
+        return tls == that.tls && addresses.equals(that.addresses) && Objects.equals(username, that.username) &&
+            Objects.equals(password, that.password) && Objects.equals(database, that.database);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(addresses, username, password, database, tls);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "ConnectionDetails{" +
+            "addresses=" + addresses +
+            ", username='" + username + '\'' +
+            ", database='" + database + '\'' +
+            ", tls=" + tls +
+            '}';
+    }
+
+    /**
+     * A host and port to connect to.
+     */
+    public static final class Address {
+
+        private final String host;
+
+        private final int port;
+
+        Address(@NotNull String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        /**
+         * Returns the host to connect to.  IPv6 addresses are not enclosed in brackets.
+         *
+         * @return the host to connect to
+         */
+        @NotNull
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * Returns the port to connect to.
+         *
+         * @return the port to connect to
+         */
+        public int getPort() {
+            return port;
+        }
+
+        @Generated
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Address address = (Address) o;
+            return port == address.port && host.equals(address.host);
+        }
+
+        @Generated
+        @Override
+        public int hashCode() {
+            return Objects.hash(host, port);
+        }
+
+        @Generated
+        @NotNull
+        @Override
+        public String toString() {
+            return host.indexOf(':') >= 0 ? "[" + host + "]:" + port : host + ":" + port;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+final class Content {
+
+    private Content() {
+    }
+
+    /**
+     * Compares two {@link CharSequence}s.  When ignoring case, characters are compared as
+     * {@link String#equalsIgnoreCase(String)} compares them.
+     *
+     * @param a          the first {@code CharSequence}
+     * @param b          the second {@code CharSequence}
+     * @param ignoreCase whether to ignore case
+     * @return {@code true} if the {@code CharSequence}s are equal, otherwise {@code false}
+     */
+    static boolean equals(@NotNull CharSequence a, @NotNull CharSequence b, boolean ignoreCase) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < a.length(); i++) {
+            if (!equals(a.charAt(i), b.charAt(i), ignoreCase)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the trimmed, UTF-8 decoded content of a {@code byte[]}.  When the content is ASCII, a view over the
+     * content is returned rather than a copy.
+     *
+     * @param content the content
+     * @return the trimmed content
+     */
+    @NotNull
+    static CharSequence trimmed(@NotNull byte[] content) {
+        int start = start(content);
+        int end = end(content, start);
+
+        if (!isAscii(content, start, end)) {
+            return decode(content);
+        }
+
+        return new AsciiSequence(content, start, end - start);
+    }
+
+    private static String decode(byte[] content) {
+        return new String(content, StandardCharsets.UTF_8).trim();
+    }
+
+    private static boolean equals(char a, char b, boolean ignoreCase) {
+        if (a == b) {
+            return true;
+        }
+
+        if (!ignoreCase) {
+            return false;
+        }
+
+        char ua = Character.toUpperCase(a);
+        char ub = Character.toUpperCase(b);
+        return ua == ub || Character.toLowerCase(ua) == Character.toLowerCase(ub);
+    }
+
+    /*
+     * Trims as String.trim() does.  Every character it removes is a single byte in UTF-8, and no byte of a multibyte
+     * sequence is in that range.
+     */
+    private static int start(byte[] content) {
+        int start = 0;
+        while (start < content.length && (content[start] & 0xff) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int end(byte[] content, int start) {
+        int end = content.length;
+        while (end > start && (content[end - 1] & 0xff) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isAscii(byte[] content, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (content[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
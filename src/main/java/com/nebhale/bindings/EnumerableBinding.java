@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * A {@link Binding} that can enumerate the keys of its entries.  Operations that visit every entry, such as
+ * {@link Bindings#toSnapshot(Binding[], java.nio.file.Path)} and {@link Bindings#diff(Binding[], Binding[])}, require
+ * their {@code Binding}s to be enumerable.  Decorators such as {@link CacheBinding} are enumerable when the
+ * {@code Binding} they decorate is.
+ */
+public interface EnumerableBinding extends Binding {
+
+    /**
+     * Returns the keys of the entries of the binding.
+     *
+     * @return the keys of the entries of the binding
+     * @throws IllegalArgumentException if the binding decorates a {@code Binding} that is not enumerable
+     */
+    @NotNull
+    Set<String> getKeys();
+
+}
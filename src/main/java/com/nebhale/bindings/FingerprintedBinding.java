@@ -0,0 +1,42 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Binding} that can describe the contents of its entries without reading them.  {@link Bindings#diff(Binding,
+ * Binding)} compares fingerprints first and reads the values of an entry only when its fingerprints are unavailable or
+ * differ.  Decorators that cache values, such as {@link CacheBinding}, are not fingerprinted, because their values may
+ * no longer match the {@code Binding} they decorate.
+ */
+public interface FingerprintedBinding extends Binding {
+
+    /**
+     * Returns a fingerprint of the contents of an entry.  Entries with equal fingerprints, from this or any other
+     * {@code FingerprintedBinding}, are assumed to have the same contents; file-based fingerprints cannot see a rewrite
+     * that keeps the size of a file within the resolution of its modification time.  Entries with different
+     * fingerprints may still have the same contents.
+     *
+     * @param key the key of the entry to describe
+     * @return the fingerprint of the entry, or {@code null} if the entry does not exist or cannot be fingerprinted
+     */
+    @Nullable
+    Object getFingerprint(@NotNull String key);
+
+}
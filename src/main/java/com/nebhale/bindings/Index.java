@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A secondary index over the values of a single entry of a collection of {@link Binding}s.  Values are normalized
+ * for case-insensitive comparison.
+ */
+final class Index {
+
+    private final BitSet present = new BitSet();
+
+    private final NavigableMap<String, BitSet> values = new TreeMap<>();
+
+    /*
+     * Values are read concurrently on virtual threads, since reads may block on I/O.
+     */
+    Index(@NotNull Binding[] bindings, @NotNull String key) {
+        List<CompletableFuture<String>> raw = Stream.of(bindings)
+            .map(b -> b.getAsync(key, Async.executor()))
+            .collect(Collectors.toList());
+
+        for (int i = 0; i < raw.size(); i++) {
+            String value = Async.join(raw.get(i));
+            if (value == null) {
+                continue;
+            }
+
+            present.set(i);
+            values.computeIfAbsent(normalize(value), k -> new BitSet()).set(i);
+        }
+    }
+
+    @NotNull
+    static String normalize(@NotNull String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the positions of the {@link Binding}s matching a {@link Query}.  The returned {@link BitSet} may be
+     * modified by the caller.
+     *
+     * @param query the {@code Query} to match
+     * @return the positions of the matching {@code Binding}s
+     */
+    @NotNull
+    BitSet select(@NotNull Query query) {
+        switch (query.getOperator()) {
+            case EQUAL_TO: {
+                BitSet matches = values.get(query.getValue());
+                return matches == null ? new BitSet() : (BitSet) matches.clone();
+            }
+            case STARTS_WITH: {
+                BitSet matches = new BitSet();
+                for (Map.Entry<String, BitSet> entry : values.tailMap(query.getValue(), true).entrySet()) {
+                    if (!entry.getKey().startsWith(query.getValue())) {
+                        break;
+                    }
+
+                    matches.or(entry.getValue());
+                }
+                return matches;
+            }
+            default:
+                return (BitSet) present.clone();
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable collection of {@link Binding}s that can be searched without scanning.  Lookups by name use an index
+ * built when the collection is created.  Secondary indexes over the values of an entry are built the first time that
+ * entry is queried, reading the values concurrently on virtual threads, and reused by every later query.
+ * <p>
+ * The collection is immutable, but the {@code Binding}s in it need not be.  Indexes record the values read when they
+ * were built and are never rebuilt, so a query can miss or wrongly match a {@code Binding}, such as a
+ * {@link RefreshableBinding}, whose values have changed since.  Create a new instance after such a change.  Instances
+ * are safe for concurrent use.
+ */
+public final class IndexedBindings {
+
+    private final Binding[] bindings;
+
+    private final Map<String, Binding> names = new HashMap<>();
+
+    private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code IndexedBindings} instance.
+     *
+     * @param bindings the {@link Binding}s to index
+     */
+    public IndexedBindings(@NotNull Binding[] bindings) {
+        Assert.notNull(bindings, "bindings must not be null");
+
+        this.bindings = bindings.clone();
+
+        for (Binding binding : this.bindings) {
+            names.putIfAbsent(Index.normalize(binding.getName()), binding);
+        }
+    }
+
+    /**
+     * Creates a new {@code IndexedBindings} instance from several paths, with names and types indexed up front.
+     * Paths are given in order of decreasing precedence; when {@link Binding}s under more than one path have the same
+     * name, the one from the earliest path is used.  The index reflects the files when it is created; create a new
+     * instance when they change.
+     *
+     * @param roots the roots to populate the {@link Binding}s from
+     * @return a new {@code IndexedBindings} instance
+     * @see Bindings#from(Path...)
+     */
+    @NotNull
+    public static IndexedBindings from(@NotNull Path... roots) {
+        IndexedBindings indexed = new IndexedBindings(Bindings.from(roots));
+        indexed.index(Binding.TYPE);
+        return indexed;
+    }
+
+    /**
+     * Returns a copy of the indexed {@link Binding}s.
+     *
+     * @return a copy of the indexed {@link Binding}s
+     */
+    @NotNull
+    public Binding[] getBindings() {
+        return bindings.clone();
+    }
+
+    /**
+     * Returns a {@link Binding} with a given name. Comparison is case-insensitive.
+     *
+     * @param name the name of the {@code Binding} to find
+     * @return the {@code Binding} with a given name if it exists, {@code null} otherwise
+     */
+    @Nullable
+    public Binding find(@NotNull String name) {
+        Assert.notNull(name, "name must not be null");
+
+        return names.get(Index.normalize(name));
+    }
+
+    /**
+     * Return zero or more {@link Binding}s with a given type and provider.  If {@code type} or {@code provider} are
+     * {@code null}, the result is not filtered on that argument.  Comparisons are case-insensitive.  Unlike
+     * {@link Bindings#filter(Binding[], String, String)}, {@code Binding}s without a type do not match rather than
+     * failing.
+     *
+     * @param type     the type of {@code Binding} to find
+     * @param provider the provider of {@code Binding} to find
+     * @return the collection of {@code Binding}s with a given type and provider
+     */
+    @NotNull
+    public Binding[] filter(@Nullable String type, @Nullable String provider) {
+        if (type == null && provider == null) {
+            return getBindings();
+        }
+
+        if (type == null) {
+            return query(Query.equalTo(Binding.PROVIDER, provider));
+        }
+
+        if (provider == null) {
+            return query(Query.equalTo(Binding.TYPE, type));
+        }
+
+        return query(Query.equalTo(Binding.TYPE, type), Query.equalTo(Binding.PROVIDER, provider));
+    }
+
+    /**
+     * Returns zero or more {@link Binding}s matching all the given {@link Query}s, in their original order.  If no
+     * {@code Query}s are given, all {@code Binding}s are returned.
+     *
+     * @param queries the {@code Query}s to match
+     * @return the collection of {@code Binding}s matching all {@code Query}s
+     */
+    @NotNull
+    public Binding[] query(@NotNull Query... queries) {
+        Assert.notNull(queries, "queries must not be null");
+
+        if (queries.length == 0) {
+            return getBindings();
+        }
+
+        BitSet matches = null;
+        for (Query query : queries) {
+            Assert.notNull(query, "queries must not contain null");
+
+            BitSet candidates = index(query.getKey()).select(query);
+            if (matches == null) {
+                matches = candidates;
+            } else {
+                matches.and(candidates);
+            }
+
+            if (matches.isEmpty()) {
+                return new Binding[0];
+            }
+        }
+
+        return matches.stream()
+            .mapToObj(i -> bindings[i])
+            .toArray(Binding[]::new);
+    }
+
+    private Index index(String key) {
+        return indexes.computeIfAbsent(key, k -> new Index(bindings, k));
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "IndexedBindings{" +
+            "bindings=" + bindings.length +
+            ", indexes=" + indexes.keySet() +
+            '}';
+    }
+
+}
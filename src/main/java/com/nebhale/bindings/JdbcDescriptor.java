@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * An immutable description of a JDBC connection derived from a database {@link Binding}.  Suitable for passing to
+ * {@link java.sql.DriverManager#getConnection(String, Properties)} or a connection pool.
+ */
+public final class JdbcDescriptor {
+
+    /**
+     * The key for the database name of a binding.
+     */
+    public static final String DATABASE = "database";
+
+    /**
+     * The key for the host of a binding.
+     */
+    public static final String HOST = "host";
+
+    /**
+     * The key for the password of a binding.
+     */
+    public static final String PASSWORD = "password";
+
+    /**
+     * The key for the port of a binding.
+     */
+    public static final String PORT = "port";
+
+    /**
+     * The key for the URL of a binding.
+     */
+    public static final String URL = "url";
+
+    /**
+     * The key for the username of a binding.
+     */
+    public static final String USERNAME = "username";
+
+    private final String url;
+
+    private final Properties properties;
+
+    private JdbcDescriptor(String url, Properties properties) {
+        this.url = url;
+        this.properties = properties;
+    }
+
+    /**
+     * Creates a {@code JdbcDescriptor} from a {@link Binding}.  If the binding contains a {@link #URL}, it is used,
+     * prefixed with {@code jdbc:} if required.  A libpq-style {@code postgres://} scheme is rewritten to
+     * {@code postgresql://}, and credentials in the authority of the URL are removed from it and exposed as properties.
+     * Otherwise, a URL is created from the {@link #HOST}, {@link #PORT}, and {@link #DATABASE} using the conventions
+     * of the binding's type, with the {@code DATABASE} escaped as required by that type.  The {@link #USERNAME} and
+     * {@link #PASSWORD} are exposed as the {@code user} and {@code password} properties, taking precedence over
+     * credentials in the URL.
+     *
+     * @param binding the {@link Binding} to create the {@code JdbcDescriptor} from
+     * @return the {@code JdbcDescriptor}
+     * @throws IllegalStateException if the binding does not describe a supported database
+     */
+    @NotNull
+    public static JdbcDescriptor of(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        Properties properties = new Properties();
+
+        String url = binding.get(URL);
+        url = url == null ? url(binding) : normalize(binding, url, properties);
+
+        String username = binding.get(USERNAME);
+        if (username != null) {
+            properties.setProperty("user", username);
+        }
+
+        String password = binding.get(PASSWORD);
+        if (password != null) {
+            properties.setProperty("password", password);
+        }
+
+        return new JdbcDescriptor(url, properties);
+    }
+
+    /**
+     * Returns the properties of the connection.  The returned {@link Properties} is a new copy, so that it can be
+     * modified without affecting this descriptor.
+     *
+     * @return the properties of the connection
+     */
+    @NotNull
+    public Properties getProperties() {
+        Properties p = new Properties();
+        p.putAll(properties);
+        return p;
+    }
+
+    /**
+     * Returns the JDBC URL of the connection.
+     *
+     * @return the JDBC URL of the connection
+     */
+    @NotNull
+    public String getUrl() {
+        return url;
+    }
+
+    private static String normalize(Binding binding, String url, Properties properties) {
+        if (url.startsWith("jdbc:")) {
+            url = url.substring("jdbc:".length());
+        }
+
+        int separator = url.indexOf("://");
+        if (separator < 0) {
+            return "jdbc:" + url;
+        }
+
+        String scheme = url.substring(0, separator);
+        if (scheme.equalsIgnoreCase("postgres")) {
+            scheme = "postgresql";
+        }
+
+        int start = separator + "://".length();
+        int end = start;
+        while (end < url.length() && "/?#;".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+
+        int at = url.lastIndexOf('@', end - 1);
+        if (at >= start) {
+            String userInfo = url.substring(start, at);
+            int colon = userInfo.indexOf(':');
+            properties.setProperty("user", decode(binding, colon < 0 ? userInfo : userInfo.substring(0, colon)));
+            if (colon >= 0) {
+                properties.setProperty("password", decode(binding, userInfo.substring(colon + 1)));
+            }
+            start = at + 1;
+        }
+
+        return String.format("jdbc:%s://%s", scheme, url.substring(start));
+    }
+
+    private static String decode(Binding binding, String s) {
+        try {
+            return URLDecoder.decode(s.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                String.format("unable to decode credentials in url of binding '%s'", binding.getName()), e);
+        }
+    }
+
+    private static String url(Binding binding) {
+        String type = binding.getType().toLowerCase(Locale.ROOT);
+
+        String host = binding.get(HOST);
+        if (host == null) {
+            throw new IllegalStateException(
+                String.format("binding '%s' does not contain a url or host", binding.getName()));
+        }
+        if (host.indexOf(':') >= 0 && !host.startsWith("[")) {
+            host = "[" + host + "]";
+        }
+
+        String port = binding.get(PORT);
+        String authority = port == null ? host : host + ":" + port;
+        String database = binding.get(DATABASE);
+
+        switch (type) {
+            case "mariadb":
+            case "mysql":
+            case "postgresql":
+                return String.format("jdbc:%s://%s/%s", type, authority,
+                    database == null ? "" : URLEncoder.encode(database, StandardCharsets.UTF_8).replace("+", "%20"));
+            case "oracle":
+                if (database != null && !database.matches("[A-Za-z0-9._$#-]*")) {
+                    throw new IllegalStateException(
+                        String.format("unable to use database '%s' as an oracle service name", database));
+                }
+                return String.format("jdbc:oracle:thin:@//%s/%s", authority, database == null ? "" : database);
+            case "sqlserver":
+                return database == null
+                    ? String.format("jdbc:sqlserver://%s", authority)
+                    : String.format("jdbc:sqlserver://%s;databaseName=%s", authority, sqlServerValue(database));
+            default:
+                throw new IllegalStateException(String.format("unsupported database type '%s'", type));
+        }
+    }
+
+    private static String sqlServerValue(String value) {
+        if (value.matches("[^;={}]*")) {
+            return value;
+        }
+
+        return "{" + value.replace("}", "}}") + "}";
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JdbcDescriptor that = (JdbcDescriptor) o;
+        return url.equals(that.url) && properties.equals(that.properties);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, properties);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "JdbcDescriptor{" +
+            "url='" + url + '\'' +
+            '}';
+    }
+
+}
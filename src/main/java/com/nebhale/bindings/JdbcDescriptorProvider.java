@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides the {@link JdbcDescriptor} of a database {@link Binding}.  The descriptor is created once and created again
+ * only when the {@code Binding} changes.  With a {@link RefreshableBinding}, connection pools can request it on every
+ * connection without reading files or assembling strings.  Instances are safe for concurrent use.
+ *
+ * @see SslContextProvider
+ */
+public final class JdbcDescriptorProvider {
+
+    private final Projection<JdbcDescriptor> descriptor;
+
+    /**
+     * Creates a new {@code JdbcDescriptorProvider} instance.
+     *
+     * @param binding the {@link Binding} to create the {@link JdbcDescriptor} from
+     */
+    public JdbcDescriptorProvider(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        this.descriptor = new Projection<>(binding, JdbcDescriptor::of);
+    }
+
+    /**
+     * Returns the {@link JdbcDescriptor} of the binding.
+     *
+     * @return the {@link JdbcDescriptor} of the binding
+     * @throws IllegalStateException if the binding does not describe a supported database
+     * @see JdbcDescriptor#of(Binding)
+     */
+    @NotNull
+    public JdbcDescriptor getDescriptor() {
+        return descriptor.get();
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "JdbcDescriptorProvider{" +
+            "binding=" + descriptor.getBinding() +
+            '}';
+    }
+
+}
@@ -21,11 +21,16 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * An implementation of {@link Binding} that returns values from a {@link Map}.
  */
-public final class MapBinding implements Binding {
+public final class MapBinding implements EnumerableBinding {
 
     private final String name;
 
@@ -57,6 +62,31 @@ public final class MapBinding implements Binding {
         return content.get(key);
     }
 
+    /**
+     * Returns the contents of a binding entry.  The returned future is already complete and the {@link Executor} is not
+     * used.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor ignored
+     * @return a completed {@link CompletableFuture} with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(executor, "executor must not be null");
+
+        return CompletableFuture.completedFuture(getAsBytes(key));
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return content.keySet().stream()
+            .filter(Secret::isValidSecretKey)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
     @NotNull
     @Override
     public String getName() {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An implementation of {@link Binding} that reads values from a memory-mapped {@link BindingSnapshot}.  The
+ * fingerprint of an entry is the snapshot and the location of its value.
+ */
+final class MappedBinding implements EnumerableBinding, FingerprintedBinding {
+
+    private final BindingSnapshot snapshot;
+
+    private final int index;
+
+    private final String name;
+
+    MappedBinding(@NotNull BindingSnapshot snapshot, int index, @NotNull String name) {
+        this.snapshot = snapshot;
+        this.index = index;
+        this.name = name;
+    }
+
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        if (!Secret.isValidSecretKey(key)) {
+            return null;
+        }
+
+        return snapshot.get(index, key);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(executor, "executor must not be null");
+
+        return CompletableFuture.completedFuture(getAsBytes(key));
+    }
+
+    @Override
+    public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(dst, "dst must not be null");
+
+        if (!Secret.isValidSecretKey(key)) {
+            return -1;
+        }
+
+        return snapshot.read(index, key, dst);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return snapshot.getKeys(index);
+    }
+
+    @Nullable
+    @Override
+    public Object getFingerprint(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        if (!Secret.isValidSecretKey(key)) {
+            return null;
+        }
+
+        return snapshot.getFingerprint(index, key);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MappedBinding that = (MappedBinding) o;
+        return index == that.index && snapshot == that.snapshot;
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(snapshot), index);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "MappedBinding{" +
+            "name='" + name + '\'' +
+            '}';
+    }
+
+}
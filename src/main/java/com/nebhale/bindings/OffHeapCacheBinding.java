@@ -0,0 +1,286 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An implementation of {@link Binding} that caches values outside the Java heap in direct {@link ByteBuffer}s.  Values
+ * are read from the delegate with {@link Binding#read(String, ByteBuffer)}, so delegates that implement it, such as
+ * {@link ConfigTreeBinding}, never place the value in a heap {@code byte[]}.
+ * <p>
+ * {@link #invalidate()} and {@link #close()} overwrite every cached value with zeros before releasing it, so buffers
+ * previously returned by {@link #getAsByteBuffer(String)} read as zeros afterwards.  Copies made by
+ * {@link #getAsBytes(String)} and {@link #read(String, ByteBuffer)} hold a read lock that zeroing waits for, so they
+ * are never partly zeroed.  The memory itself is returned to the operating system when the buffers are collected.
+ * Instances are safe for concurrent use.
+ */
+public final class OffHeapCacheBinding implements EnumerableBinding, AutoCloseable {
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final Binding delegate;
+
+    private final Map<String, ByteBuffer> cache = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean closed;
+
+    /**
+     * Creates a new {@code OffHeapCacheBinding} instance.
+     *
+     * @param delegate the {@link Binding} used to retrieve original values
+     */
+    public OffHeapCacheBinding(@NotNull Binding delegate) {
+        Assert.notNull(delegate, "delegate must not be null");
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns a copy of the contents of a binding entry on the heap.  Prefer {@link #getAsByteBuffer(String)} or
+     * {@link #read(String, ByteBuffer)} to keep the value off the heap.
+     *
+     * @param key the key of the entry to retrieve
+     * @return a copy of the contents of a binding entry if it exists, otherwise {@code null}
+     * @throws IllegalStateException if the binding has been closed
+     */
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        lock.readLock().lock();
+        try {
+            ByteBuffer value = value(key);
+
+            if (value == null) {
+                return null;
+            }
+
+            byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the contents of a binding entry on the heap without blocking the caller.  If the entry has
+     * already been cached, the returned future is already complete and the {@link Executor} is not used.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with a copy of the contents of a binding entry if it exists,
+     * otherwise {@code null}, or exceptionally if the binding has been closed
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        if (cache.containsKey(key)) {
+            try {
+                return CompletableFuture.completedFuture(getAsBytes(key));
+            } catch (IllegalStateException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> getAsBytes(key), executor);
+    }
+
+    /**
+     * Returns a read-only view of the contents of a binding entry.  The view reads as zeros once the binding has been
+     * invalidated or closed.
+     *
+     * @param key the key of the entry to retrieve
+     * @return a read-only view of the contents of a binding entry if it exists, otherwise {@code null}
+     * @throws IllegalStateException if the binding has been closed
+     */
+    @Nullable
+    public ByteBuffer getAsByteBuffer(@NotNull String key) {
+        lock.readLock().lock();
+        try {
+            return value(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        Assert.notNull(dst, "dst must not be null");
+
+        lock.readLock().lock();
+        try {
+            ByteBuffer value = value(key);
+
+            if (value == null) {
+                return -1;
+            }
+
+            int length = value.remaining();
+            dst.put(value);
+            return length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return Bindings.keys(delegate);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /**
+     * Returns the number of bytes of off-heap memory held by cached values.
+     *
+     * @return the number of bytes of off-heap memory held by cached values
+     */
+    public long getFootprint() {
+        return cache.values().stream()
+            .mapToLong(ByteBuffer::capacity)
+            .sum();
+    }
+
+    /**
+     * Zeros and releases every cached value.  Later reads retrieve values from the delegate again.  Call this when the
+     * underlying binding has been rotated.  Waits for copies in progress to complete.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            cache.values().forEach(OffHeapCacheBinding::zero);
+            cache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Zeros and releases every cached value.  Later reads throw {@link IllegalStateException}.  Waits for copies in
+     * progress to complete.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            closed = true;
+            invalidate();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Must be called while holding the read lock.
+     */
+    @Nullable
+    private ByteBuffer value(String key) {
+        Assert.notNull(key, "key must not be null");
+
+        if (closed) {
+            throw new IllegalStateException("binding is closed");
+        }
+
+        ByteBuffer value = cache.computeIfAbsent(key, this::load);
+        return value == null ? null : value.asReadOnlyBuffer();
+    }
+
+    /*
+     * Reads into a scratch buffer that grows until the value fits, then copies into a buffer of the exact size.  The
+     * scratch buffer is zeroed before it is released.
+     */
+    @Nullable
+    private ByteBuffer load(String key) {
+        int capacity = INITIAL_CAPACITY;
+
+        while (true) {
+            ByteBuffer scratch = ByteBuffer.allocateDirect(capacity);
+            try {
+                if (delegate.read(key, scratch) < 0) {
+                    return null;
+                }
+
+                ByteBuffer value = ByteBuffer.allocateDirect(scratch.flip().remaining());
+                value.put(scratch).flip();
+                return value;
+            } catch (BufferOverflowException e) {
+                capacity = Math.multiplyExact(capacity, 2);
+            } finally {
+                zero(scratch);
+            }
+        }
+    }
+
+    private static void zero(ByteBuffer value) {
+        ByteBuffer buffer = value.duplicate().clear();
+
+        int i = 0;
+        for (; i <= buffer.capacity() - Long.BYTES; i += Long.BYTES) {
+            buffer.putLong(i, 0L);
+        }
+        for (; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OffHeapCacheBinding that = (OffHeapCacheBinding) o;
+        return delegate.equals(that.delegate);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "OffHeapCacheBinding{" +
+            "delegate=" + delegate +
+            '}';
+    }
+
+}
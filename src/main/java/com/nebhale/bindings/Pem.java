@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class Pem {
+
+    private static final Pattern PRIVATE_KEY = Pattern.compile(
+        "-----BEGIN ([A-Z ]*PRIVATE KEY)-----([a-zA-Z0-9+/=\\s]+)-----END \\1-----");
+
+    private static final String[] KEY_ALGORITHMS = new String[]{ "RSA", "EC", "EdDSA", "XDH", "RSASSA-PSS", "DSA" };
+
+    private static final byte[] RSA_ALGORITHM = new byte[]{
+        0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x01, 0x05, 0x00
+    };
+
+    private static final byte[] EC_ALGORITHM = new byte[]{
+        0x06, 0x07, 0x2a, (byte) 0x86, 0x48, (byte) 0xce, 0x3d, 0x02, 0x01
+    };
+
+    private static final byte[] VERSION_0 = new byte[]{ 0x02, 0x01, 0x00 };
+
+    private Pem() {
+    }
+
+    /**
+     * Parses all the X.509 certificates in PEM encoded content.
+     *
+     * @param content the PEM encoded content
+     * @return the certificates
+     * @throws IllegalStateException if the content cannot be parsed
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static X509Certificate[] certificates(@NotNull byte[] content) {
+        Assert.notNull(content, "content must not be null");
+
+        try {
+            List<X509Certificate> certificates = (List<X509Certificate>) CertificateFactory.getInstance("X.509")
+                .generateCertificates(new ByteArrayInputStream(content));
+            return certificates.toArray(new X509Certificate[0]);
+        } catch (CertificateException e) {
+            throw new IllegalStateException("unable to parse certificates", e);
+        }
+    }
+
+    /**
+     * Parses an unencrypted private key in PKCS#8 ({@code PRIVATE KEY}), PKCS#1 ({@code RSA PRIVATE KEY}), or SEC 1
+     * ({@code EC PRIVATE KEY}) PEM encoded content.
+     *
+     * @param content the PEM encoded content
+     * @return the private key
+     * @throws IllegalStateException if the content cannot be parsed
+     */
+    @NotNull
+    static PrivateKey privateKey(@NotNull byte[] content) {
+        Assert.notNull(content, "content must not be null");
+
+        Matcher matcher = PRIVATE_KEY.matcher(new String(content, StandardCharsets.US_ASCII));
+        if (!matcher.find()) {
+            throw new IllegalStateException("unable to find an unencrypted private key");
+        }
+
+        byte[] der = Base64.getMimeDecoder().decode(matcher.group(2));
+        switch (matcher.group(1)) {
+            case "PRIVATE KEY":
+                return pkcs8(der);
+            case "RSA PRIVATE KEY":
+                return pkcs8(sequence(VERSION_0, RSA_ALGORITHM, tlv(0x04, der)));
+            case "EC PRIVATE KEY":
+                return pkcs8(sequence(VERSION_0, sequence(EC_ALGORITHM, curve(der)), tlv(0x04, der)));
+            default:
+                throw new IllegalStateException(String.format("unsupported private key type '%s'", matcher.group(1)));
+        }
+    }
+
+    private static PrivateKey pkcs8(byte[] der) {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(der);
+
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                return KeyFactory.getInstance(algorithm).generatePrivate(spec);
+            } catch (GeneralSecurityException e) {
+                // try the next algorithm
+            }
+        }
+
+        throw new IllegalStateException("unable to parse private key");
+    }
+
+    /*
+     * ECPrivateKey ::= SEQUENCE { version INTEGER, privateKey OCTET STRING, parameters [0] ECParameters OPTIONAL, ... }
+     */
+    private static byte[] curve(byte[] sec1) {
+        int[] sequence = header(sec1, 0);
+        int offset = sequence[0];
+
+        while (offset < sequence[0] + sequence[1]) {
+            int[] element = header(sec1, offset);
+            if ((sec1[offset] & 0xff) == 0xa0) {
+                byte[] parameters = new byte[element[1]];
+                System.arraycopy(sec1, element[0], parameters, 0, element[1]);
+                return parameters;
+            }
+            offset = element[0] + element[1];
+        }
+
+        throw new IllegalStateException("EC private key does not specify a curve");
+    }
+
+    /*
+     * Returns the offset of the content and the length of the content of the DER element at an offset.
+     */
+    private static int[] header(byte[] der, int offset) {
+        if (offset + 1 >= der.length) {
+            throw new IllegalStateException("malformed DER content");
+        }
+
+        int length = der[offset + 1] & 0xff;
+        int content = offset + 2;
+
+        if ((length & 0x80) != 0) {
+            int count = length & 0x7f;
+            if (count == 0 || count > 3 || content + count > der.length) {
+                throw new IllegalStateException("malformed DER content");
+            }
+
+            length = 0;
+            for (int i = 0; i < count; i++) {
+                length = (length << 8) | (der[content++] & 0xff);
+            }
+        }
+
+        if (content + length > der.length) {
+            throw new IllegalStateException("malformed DER content");
+        }
+
+        return new int[]{ content, length };
+    }
+
+    private static byte[] sequence(byte[]... elements) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (byte[] element : elements) {
+            content.writeBytes(element);
+        }
+        return tlv(0x30, content.toByteArray());
+    }
+
+    private static byte[] tlv(int tag, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(tag);
+
+        if (content.length < 0x80) {
+            out.write(content.length);
+        } else {
+            int count = (Integer.SIZE - Integer.numberOfLeadingZeros(content.length) + 7) / 8;
+            out.write(0x80 | count);
+            for (int i = count - 1; i >= 0; i--) {
+                out.write(content.length >>> (i * 8));
+            }
+        }
+
+        out.writeBytes(content);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An implementation of {@link Binding} that holds the name, type, and provider of a binding so that they can be read
+ * without touching the delegate.
+ */
+final class PrefetchedBinding implements EnumerableBinding {
+
+    private final Binding delegate;
+
+    private final String name;
+
+    private final String type;
+
+    private final String provider;
+
+    PrefetchedBinding(@NotNull Binding delegate) {
+        this.delegate = delegate;
+        this.name = delegate.getName();
+        this.type = delegate.get(TYPE);
+        this.provider = delegate.get(PROVIDER);
+    }
+
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        return delegate.getAsBytes(key);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        return delegate.getAsBytesAsync(key, executor);
+    }
+
+    @Override
+    public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        return delegate.read(key, dst);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getAsCharSequence(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        if (TYPE.equals(key)) {
+            return type;
+        }
+
+        if (PROVIDER.equals(key)) {
+            return provider;
+        }
+
+        return delegate.getAsCharSequence(key);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return Bindings.keys(delegate);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    @Override
+    public String getProvider() {
+        return provider;
+    }
+
+    @NotNull
+    @Override
+    public String getType() {
+        if (type == null) {
+            throw new IllegalStateException("binding does not contain a type");
+        }
+
+        return type;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PrefetchedBinding that = (PrefetchedBinding) o;
+        return delegate.equals(that.delegate);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "PrefetchedBinding{" +
+            "delegate=" + delegate +
+            '}';
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A handle to a collection of {@link Binding}s that are being discovered and read in the background.  Discovery starts
+ * as soon as the handle is created, and each entry, or each entry in an {@link AccessProfile}, is read into a
+ * {@link CacheBinding} once discovery completes.  Calls
+ * made before discovery completes wait for it; reads of an entry that is still loading wait for that entry only, and
+ * reads of an entry that has not started loading read it directly.
+ *
+ * @see Bindings#preload(Path)
+ */
+public final class PreloadedBindings implements BindingSource {
+
+    private final Path root;
+
+    private final CompletableFuture<Binding[]> discovered;
+
+    private final CompletableFuture<Void> loaded;
+
+    PreloadedBindings(@NotNull Path root, @NotNull Executor executor,
+                      @NotNull Function<Binding, ? extends Set<String>> selector) {
+
+        this.root = root;
+        this.discovered = Bindings.fromAsync(root, executor).thenApply(Bindings::cached);
+        this.loaded = discovered.thenCompose(bindings -> CompletableFuture.allOf(Stream.of(bindings)
+            .map(binding -> load(binding, selector, executor))
+            .toArray(CompletableFuture[]::new)));
+    }
+
+    /**
+     * Returns a copy of the discovered {@link Binding}s, waiting for discovery to complete if necessary.  The entries
+     * of the {@code Binding}s may still be loading.
+     *
+     * @return a copy of the discovered {@code Binding}s
+     */
+    @NotNull
+    @Override
+    public Binding[] getBindings() {
+        return bindings().clone();
+    }
+
+    /**
+     * Returns a {@link Binding} with a given name, waiting for discovery to complete if necessary.  Equivalent to
+     * {@link Bindings#find(Binding[], String)}.
+     *
+     * @param name the name of the {@code Binding} to find
+     * @return the {@code Binding} with a given name if it exists, {@code null} otherwise
+     */
+    @Nullable
+    public Binding find(@NotNull String name) {
+        return Bindings.find(bindings(), name);
+    }
+
+    /**
+     * Return zero or more {@link Binding}s with a given type and provider, waiting for discovery to complete if
+     * necessary.  Equivalent to {@link Bindings#filter(Binding[], String, String)}.
+     *
+     * @param type     the type of {@code Binding} to find
+     * @param provider the provider of {@code Binding} to find
+     * @return the collection of {@code Binding}s with a given type and provider
+     */
+    @NotNull
+    public Binding[] filter(@Nullable String type, @Nullable String provider) {
+        return Bindings.filter(bindings(), type, provider);
+    }
+
+    /**
+     * Returns whether every entry of every {@link Binding} has been loaded.
+     *
+     * @return {@code true} if every entry has been loaded, otherwise {@code false}
+     */
+    public boolean isLoaded() {
+        return loaded.isDone() && !loaded.isCompletedExceptionally();
+    }
+
+    /**
+     * Returns a {@link CompletableFuture} that completes once every entry of every {@link Binding} has been loaded.
+     * The future completes exceptionally if discovery or any read fails.
+     *
+     * @return a {@code CompletableFuture} that completes once every entry has been loaded
+     */
+    @NotNull
+    public CompletableFuture<Void> whenLoaded() {
+        return loaded.copy();
+    }
+
+    private Binding[] bindings() {
+        try {
+            return discovered.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<Void> load(Binding binding, Function<Binding, ? extends Set<String>> selector,
+                                               Executor executor) {
+
+        return CompletableFuture.supplyAsync(() -> selector.apply(binding), executor)
+            .thenCompose(keys -> CompletableFuture.allOf(keys.stream()
+                .map(key -> binding.getAsBytesAsync(key, executor))
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "PreloadedBindings{" +
+            "root=" + root +
+            ", loaded=" + isLoaded() +
+            '}';
+    }
+
+}
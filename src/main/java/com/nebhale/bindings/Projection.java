@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A value derived from the entries of a {@link Binding} that is created once and recreated only when the
+ * {@code Binding} changes.  When the {@code Binding} is a {@link VersionedBinding}, such as {@link RefreshableBinding},
+ * checking whether the value is current compares versions and reads no entries.  Otherwise, the entries a value
+ * depends on are recorded while it is being created and read again on every check, which for a
+ * {@link ConfigTreeBinding} means reading files, and for a {@link CacheBinding} means a change is never seen.
+ *
+ * @param <T> the type of the derived value
+ */
+final class Projection<T> {
+
+    private final Binding binding;
+
+    private final Function<Binding, T> factory;
+
+    private volatile State<T> state;
+
+    Projection(@NotNull Binding binding, @NotNull Function<Binding, T> factory) {
+        this.binding = binding;
+        this.factory = factory;
+    }
+
+    @NotNull
+    Binding getBinding() {
+        return binding;
+    }
+
+    T get() {
+        State<T> s = state;
+        if (s != null && s.isCurrent(binding)) {
+            return s.value;
+        }
+
+        synchronized (this) {
+            s = state;
+            if (s == null || !s.isCurrent(binding)) {
+                s = create();
+                state = s;
+            }
+            return s.value;
+        }
+    }
+
+    /*
+     * The version is read before the value is created, so that a change made while it is being created is seen by the
+     * next check.
+     */
+    private State<T> create() {
+        long version = binding instanceof VersionedBinding ? ((VersionedBinding) binding).getVersion() : 0;
+
+        Recorder recorder = new Recorder(binding);
+        T value = factory.apply(recorder);
+        return new State<>(version, recorder.keys.toArray(new String[0]), recorder.values.toArray(new byte[0][]),
+            value);
+    }
+
+    private static final class State<T> {
+
+        private final long version;
+
+        private final String[] keys;
+
+        private final byte[][] values;
+
+        private final T value;
+
+        private State(long version, String[] keys, byte[][] values, T value) {
+            this.version = version;
+            this.keys = keys;
+            this.values = values;
+            this.value = value;
+        }
+
+        private boolean isCurrent(Binding binding) {
+            if (binding instanceof VersionedBinding) {
+                return ((VersionedBinding) binding).getVersion() == version;
+            }
+
+            for (int i = 0; i < keys.length; i++) {
+                byte[] candidate = binding.getAsBytes(keys[i]);
+                if (candidate != values[i] && !Arrays.equals(candidate, values[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+    private static final class Recorder implements EnumerableBinding {
+
+        private final Binding delegate;
+
+        private final List<String> keys = new ArrayList<>();
+
+        private final List<byte[]> values = new ArrayList<>();
+
+        private Recorder(Binding delegate) {
+            this.delegate = delegate;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            byte[] value = delegate.getAsBytes(key);
+
+            if (!keys.contains(key)) {
+                keys.add(key);
+                values.add(value);
+            }
+
+            return value;
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys() {
+            return Bindings.keys(delegate);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A registry of adapters that turn a {@link Binding} into a value, keyed by the type of the {@code Binding}.  Types are
+ * compared case-insensitively.  {@link #connectionDetails()} contains adapters for well-known types, and further
+ * adapters are added with {@link #withAdapter(String, Function)}.  Instances are immutable; {@code withAdapter}
+ * returns a new instance.
+ *
+ * @param <T> the type of value the adapters create
+ */
+public final class ProjectionRegistry<T> {
+
+    private final Map<String, Function<Binding, ? extends T>> adapters;
+
+    /*
+     * Projections reference their Binding, so they are held weakly to let the Binding, and then the entry, be
+     * collected once no provider for it is in use.
+     */
+    private final Map<Binding, WeakReference<Projection<T>>> projections = new WeakHashMap<>();
+
+    private ProjectionRegistry(Map<String, Function<Binding, ? extends T>> adapters) {
+        this.adapters = adapters;
+    }
+
+    /**
+     * Returns a {@code ProjectionRegistry} with adapters that create {@link ConnectionDetails} for {@code kafka},
+     * {@code mysql}, {@code postgresql}, {@code rabbitmq}, and {@code redis} {@link Binding}s.
+     *
+     * @return a {@code ProjectionRegistry} of {@code ConnectionDetails}
+     */
+    @NotNull
+    public static ProjectionRegistry<ConnectionDetails> connectionDetails() {
+        return ProjectionRegistry.<ConnectionDetails>empty()
+            .withAdapter("kafka", ConnectionDetails::kafka)
+            .withAdapter("mysql", ConnectionDetails::mysql)
+            .withAdapter("postgresql", ConnectionDetails::postgresql)
+            .withAdapter("rabbitmq", ConnectionDetails::rabbitmq)
+            .withAdapter("redis", ConnectionDetails::redis);
+    }
+
+    /**
+     * Returns a {@code ProjectionRegistry} without any adapters.
+     *
+     * @param <T> the type of value the adapters create
+     * @return a {@code ProjectionRegistry} without any adapters
+     */
+    @NotNull
+    public static <T> ProjectionRegistry<T> empty() {
+        return new ProjectionRegistry<>(Collections.emptyMap());
+    }
+
+    /**
+     * Returns a copy of this registry with an adapter for a type.  An existing adapter for the type is replaced.
+     *
+     * @param type    the type of {@link Binding} the adapter applies to
+     * @param adapter the adapter that creates a value from a {@code Binding}
+     * @return a copy of this registry with the adapter
+     */
+    @NotNull
+    public ProjectionRegistry<T> withAdapter(@NotNull String type, @NotNull Function<Binding, ? extends T> adapter) {
+        Assert.notNull(type, "type must not be null");
+        Assert.notNull(adapter, "adapter must not be null");
+
+        Map<String, Function<Binding, ? extends T>> a = new HashMap<>(adapters);
+        a.put(Index.normalize(type), adapter);
+
+        return new ProjectionRegistry<>(Collections.unmodifiableMap(a));
+    }
+
+    /**
+     * Returns whether this registry has an adapter for the type of a {@link Binding}.
+     *
+     * @param binding the {@code Binding} to check
+     * @return {@code true} if the {@code Binding} has a type and this registry has an adapter for it, otherwise
+     * {@code false}
+     */
+    public boolean supports(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        String type = binding.get(Binding.TYPE);
+        return type != null && adapters.containsKey(Index.normalize(type));
+    }
+
+    /**
+     * Creates a value from a {@link Binding} with the adapter for its type.  The value is not cached; use
+     * {@link #provider(Binding)} to create it only when the {@code Binding} changes.
+     *
+     * @param binding the {@code Binding} to create the value from
+     * @return the value
+     * @throws IllegalStateException if the {@code Binding} does not have a type, if this registry does not have an
+     *                               adapter for it, or if the adapter cannot create a value
+     */
+    @NotNull
+    public T project(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        String type = Index.normalize(binding.getType());
+
+        Function<Binding, ? extends T> adapter = adapters.get(type);
+        if (adapter == null) {
+            throw new IllegalStateException(String.format("no adapter for binding type '%s'", type));
+        }
+
+        T value = adapter.apply(binding);
+        if (value == null) {
+            throw new IllegalStateException(String.format("adapter for binding type '%s' returned null", type));
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns a {@link Supplier} of the value created from a {@link Binding} by {@link #project(Binding)}.  The value
+     * is created once and created again only when one of the entries it was created from, including the type,
+     * changes.  When the {@code Binding} is a {@link VersionedBinding}, such as a {@link RefreshableBinding}, checking
+     * for changes compares versions and reads no entries.  {@code Supplier}s returned for the same {@code Binding}
+     * share the value while any of them is in use.  The returned {@code Supplier} is safe for concurrent use.
+     *
+     * @param binding the {@code Binding} to create the value from
+     * @return a {@code Supplier} of the value
+     */
+    @NotNull
+    public Supplier<T> provider(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        synchronized (projections) {
+            WeakReference<Projection<T>> reference = projections.get(binding);
+            Projection<T> projection = reference == null ? null : reference.get();
+
+            // an equal, but distinct, Binding may change independently, so it replaces the entry and its key
+            if (projection == null || projection.getBinding() != binding) {
+                projection = new Projection<>(binding, this::project);
+                projections.remove(binding);
+                projections.put(binding, new WeakReference<>(projection));
+            }
+
+            return projection::get;
+        }
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "ProjectionRegistry{" +
+            "types=" + adapters.keySet() +
+            '}';
+    }
+
+}
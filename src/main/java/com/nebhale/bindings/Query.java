@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A predicate over a single entry of a {@link Binding}, used to select {@code Binding}s from {@link IndexedBindings}.
+ * Comparisons are case-insensitive and made against the trimmed, UTF-8 decoded value of the entry.
+ */
+public final class Query {
+
+    private final String key;
+
+    private final Operator operator;
+
+    private final String value;
+
+    private Query(String key, Operator operator, String value) {
+        this.key = key;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * Creates a {@code Query} that matches {@link Binding}s with an entry equal to a value.
+     *
+     * @param key   the key of the entry to match
+     * @param value the value the entry must be equal to
+     * @return the {@code Query}
+     */
+    @NotNull
+    public static Query equalTo(@NotNull String key, @NotNull String value) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(value, "value must not be null");
+
+        return new Query(key, Operator.EQUAL_TO, Index.normalize(value));
+    }
+
+    /**
+     * Creates a {@code Query} that matches {@link Binding}s that contain an entry.
+     *
+     * @param key the key of the entry to match
+     * @return the {@code Query}
+     */
+    @NotNull
+    public static Query exists(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        return new Query(key, Operator.EXISTS, "");
+    }
+
+    /**
+     * Creates a {@code Query} that matches {@link Binding}s with an entry starting with a prefix.
+     *
+     * @param key    the key of the entry to match
+     * @param prefix the prefix the entry must start with
+     * @return the {@code Query}
+     */
+    @NotNull
+    public static Query startsWith(@NotNull String key, @NotNull String prefix) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(prefix, "prefix must not be null");
+
+        return new Query(key, Operator.STARTS_WITH, Index.normalize(prefix));
+    }
+
+    @NotNull
+    String getKey() {
+        return key;
+    }
+
+    @NotNull
+    Operator getOperator() {
+        return operator;
+    }
+
+    @NotNull
+    String getValue() {
+        return value;
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Query query = (Query) o;
+        return key.equals(query.key) && operator == query.operator && value.equals(query.value);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, operator, value);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "Query{" +
+            "key='" + key + '\'' +
+            ", operator=" + operator +
+            ", value='" + value + '\'' +
+            '}';
+    }
+
+    enum Operator {
+        EQUAL_TO,
+        EXISTS,
+        STARTS_WITH
+    }
+
+}
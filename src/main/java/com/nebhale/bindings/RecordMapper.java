@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.net.URI;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Projects a {@link Binding} onto a record.  Each record component is read from the entry named by its
+ * {@link BindingKey}, or by its name converted from camel case to kebab case, and converted to the component's type.
+ * Components and the canonical constructor are resolved once per record type; projecting a {@code Binding} only reads
+ * entries, converts values, and invokes the constructor through a {@link MethodHandle}.
+ *
+ * @param <R> the type of record
+ */
+final class RecordMapper<R extends Record> {
+
+    private static final ClassValue<RecordMapper<?>> MAPPERS = new ClassValue<>() {
+
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected RecordMapper<?> computeValue(Class<?> type) {
+            return new RecordMapper(type.asSubclass(Record.class));
+        }
+
+    };
+
+    private final Class<R> type;
+
+    private final String[] keys;
+
+    private final Converter[] converters;
+
+    private final MethodHandle constructor;
+
+    private RecordMapper(Class<R> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameters = new Class<?>[components.length];
+
+        this.type = type;
+        this.keys = new String[components.length];
+        this.converters = new Converter[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            BindingKey key = components[i].getAnnotation(BindingKey.class);
+            keys[i] = key == null ? kebab(components[i].getName()) : key.value();
+            converters[i] = Converter.of(type, components[i]);
+            parameters[i] = components[i].getType();
+        }
+
+        try {
+            this.constructor = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .findConstructor(type, MethodType.methodType(void.class, parameters))
+                .asSpreader(Object[].class, parameters.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                String.format("unable to access canonical constructor of %s", type.getName()), e);
+        }
+    }
+
+    /**
+     * Returns the {@code RecordMapper} for a record type, creating it the first time the type is used.
+     *
+     * @param type the type of record
+     * @param <R>  the type of record
+     * @return the {@code RecordMapper} for the record type
+     * @throws IllegalArgumentException if the record has a component of an unsupported type
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <R extends Record> RecordMapper<R> of(@NotNull Class<R> type) {
+        Assert.notNull(type, "type must not be null");
+
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(String.format("%s is not a record", type.getName()));
+        }
+
+        return (RecordMapper<R>) MAPPERS.get(type);
+    }
+
+    /**
+     * Projects a {@link Binding} onto a new record.
+     *
+     * @param binding the {@code Binding} to project
+     * @return the new record
+     * @throws IllegalStateException if an entry for a primitive component is missing or an entry cannot be converted
+     */
+    @NotNull
+    R map(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        Object[] arguments = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            arguments[i] = converters[i].convert(binding, keys[i]);
+        }
+
+        try {
+            return type.cast((Object) constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(String.format("unable to create %s", type.getName()), t);
+        }
+    }
+
+    private static String kebab(String name) {
+        StringBuilder sb = new StringBuilder(name.length() + 4);
+
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    sb.append('-');
+                }
+                sb.append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static final class Converter {
+
+        private final boolean primitive;
+
+        private final boolean bytes;
+
+        private final Function<String, Object> parser;
+
+        private Converter(boolean primitive, boolean bytes, Function<String, Object> parser) {
+            this.primitive = primitive;
+            this.bytes = bytes;
+            this.parser = parser;
+        }
+
+        private static Converter of(Class<?> record, RecordComponent component) {
+            Class<?> type = component.getType();
+
+            if (type == String.class) {
+                return new Converter(false, false, s -> s);
+            } else if (type == byte[].class) {
+                return new Converter(false, true, null);
+            } else if (type == int.class || type == Integer.class) {
+                return new Converter(type.isPrimitive(), false, Integer::valueOf);
+            } else if (type == long.class || type == Long.class) {
+                return new Converter(type.isPrimitive(), false, Long::valueOf);
+            } else if (type == double.class || type == Double.class) {
+                return new Converter(type.isPrimitive(), false, Double::valueOf);
+            } else if (type == boolean.class || type == Boolean.class) {
+                return new Converter(type.isPrimitive(), false, Converter::parseBoolean);
+            } else if (type == URI.class) {
+                return new Converter(false, false, URI::create);
+            }
+
+            throw new IllegalArgumentException(String.format("unsupported type %s of component '%s' of %s",
+                type.getName(), component.getName(), record.getName()));
+        }
+
+        private static Boolean parseBoolean(String s) {
+            switch (s.toLowerCase(Locale.ROOT)) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                default:
+                    throw new IllegalArgumentException(String.format("'%s' is not a boolean", s));
+            }
+        }
+
+        private Object convert(Binding binding, String key) {
+            if (bytes) {
+                return binding.getAsBytes(key);
+            }
+
+            String value = binding.get(key);
+            if (value == null) {
+                if (primitive) {
+                    throw new IllegalStateException(
+                        String.format("binding '%s' does not contain entry '%s'", binding.getName(), key));
+                }
+                return null;
+            }
+
+            try {
+                return parser.apply(value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(
+                    String.format("unable to convert entry '%s' of binding '%s'", key, binding.getName()), e);
+            }
+        }
+
+    }
+
+}
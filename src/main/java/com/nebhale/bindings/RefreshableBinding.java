@@ -0,0 +1,363 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotLinkException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An implementation of {@link Binding} that reads files from a volume mounted Kubernetes Secret, caches their values,
+ * and can re-read only the entries that have changed.  Entries that did not exist when read are remembered too, so
+ * that {@link #refresh()} notices when they are created.  Each cached entry keeps a fingerprint of its file: size,
+ * modification time, file key (the inode on most platforms), and the target of the {@code ..data} link that Kubernetes
+ * swaps when it updates the volume.  {@link #refresh()} re-reads only the entries whose fingerprint differs and keeps
+ * the same {@code byte[]} for any entry whose contents are unchanged, so values derived from it remain valid.  The
+ * {@link #getVersion() version} is the {@link #getGeneration() generation}, and the
+ * {@link #getFingerprint(String) fingerprint} of a cached entry is that of the file it was read from.
+ * <p>
+ * Change detection relies on the {@code ..data} swap that Kubernetes performs, or on a change to the size,
+ * modification time, or file key of a file.  A plain directory whose files are rewritten in place with the same size
+ * within the resolution of their modification time is not seen to change.  Instances are safe for concurrent use.
+ */
+public final class RefreshableBinding implements VersionedBinding, EnumerableBinding, FingerprintedBinding {
+
+    private static final long ACCESS_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final String DATA = "..data";
+
+    private final ConfigTreeBinding tree;
+
+    private final Path root;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile long lastAccess = System.nanoTime();
+
+    /**
+     * Creates a new {@code RefreshableBinding} instance.
+     *
+     * @param root the root of the volume mounted Kubernetes Secret
+     */
+    public RefreshableBinding(@NotNull Path root) {
+        Assert.notNull(root, "root must not be null");
+
+        this.tree = new ConfigTreeBinding(root);
+        this.root = root;
+    }
+
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        touch();
+
+        if (!Secret.isValidSecretKey(key)) {
+            return null;
+        }
+
+        return entries.computeIfAbsent(key, k -> load(k, dataTarget(), null)).value;
+    }
+
+    /**
+     * Returns the contents of a binding entry without blocking the caller.  If the entry has already been cached, the
+     * returned future is already complete and the {@link Executor} is not used.
+     *
+     * @param key      the key of the entry to retrieve
+     * @param executor the {@code Executor} to read the entry on
+     * @return a {@link CompletableFuture} that completes with the contents of a binding entry if it exists, otherwise
+     * {@code null}
+     */
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        Assert.notNull(key, "key must not be null");
+        Assert.notNull(executor, "executor must not be null");
+
+        Entry entry = entries.get(key);
+
+        if (entry != null) {
+            touch();
+            return CompletableFuture.completedFuture(entry.value);
+        }
+
+        return CompletableFuture.supplyAsync(() -> getAsBytes(key), executor);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return tree.getKeys();
+    }
+
+    @Nullable
+    @Override
+    public Object getFingerprint(@NotNull String key) {
+        Assert.notNull(key, "key must not be null");
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return tree.getFingerprint(key);
+        }
+
+        Fingerprint f = entry.fingerprint;
+        return f == null ? null : ConfigTreeBinding.fingerprint(f.size, f.modified, f.fileKey);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return tree.getName();
+    }
+
+    /**
+     * Returns the generation of the binding.  The generation increases each time {@link #refresh()} finds a changed
+     * entry.
+     *
+     * @return the generation of the binding
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns the generation of the binding.
+     *
+     * @return the generation of the binding
+     * @see #getGeneration()
+     */
+    @Override
+    public long getVersion() {
+        return getGeneration();
+    }
+
+    /**
+     * Returns the time the binding was last read, to a resolution of a millisecond, or the time it was created if it
+     * has not been read.  The value is comparable with {@link System#nanoTime()}.
+     *
+     * @return the time the binding was last read
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Checks the fingerprint of every cached entry and re-reads those that differ, including entries whose file has
+     * been created or removed.  Entries whose file has been rewritten with the same contents keep their existing
+     * {@code byte[]} and are not reported as changed.
+     *
+     * @return the keys of the entries whose contents changed, or that were created or removed
+     */
+    @NotNull
+    public Set<String> refresh() {
+        Path dataTarget = dataTarget();
+        Set<String> changed = new TreeSet<>();
+
+        for (String key : entries.keySet()) {
+            entries.computeIfPresent(key, (k, entry) -> {
+                Entry candidate = refresh(k, entry, dataTarget);
+
+                if (candidate.value != entry.value) {
+                    changed.add(k);
+                }
+
+                return candidate;
+            });
+        }
+
+        if (!changed.isEmpty()) {
+            generation.incrementAndGet();
+        }
+
+        return Collections.unmodifiableSet(changed);
+    }
+
+    private Entry refresh(String key, Entry entry, Path dataTarget) {
+        Fingerprint fingerprint = fingerprint(root.resolve(key), dataTarget);
+
+        if (Objects.equals(entry.fingerprint, fingerprint)) {
+            return entry;
+        }
+
+        return load(key, dataTarget, entry);
+    }
+
+    /*
+     * Only written when it has moved on, so that concurrent readers do not contend on it.
+     */
+    private void touch() {
+        long now = System.nanoTime();
+        if (now - lastAccess > ACCESS_RESOLUTION) {
+            lastAccess = now;
+        }
+    }
+
+    /*
+     * Returns an entry without a value if the file does not exist or is not a regular file.  If the contents are equal
+     * to those of the previous entry, the previous byte[] is reused.
+     */
+    private Entry load(String key, @Nullable Path dataTarget, @Nullable Entry previous) {
+        Path path = root.resolve(key);
+        Fingerprint fingerprint = fingerprint(path, dataTarget);
+
+        if (fingerprint == null) {
+            return Entry.MISSING;
+        }
+
+        byte[] value;
+        try {
+            value = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            return Entry.MISSING;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read file '%s'", path), e);
+        }
+
+        if (previous != null && Arrays.equals(previous.value, value)) {
+            value = previous.value;
+        }
+
+        return new Entry(fingerprint, value);
+    }
+
+    @Nullable
+    private static Fingerprint fingerprint(Path path, @Nullable Path dataTarget) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read attributes of '%s'", path), e);
+        }
+
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+
+        return new Fingerprint(attributes.size(), attributes.lastModifiedTime(), attributes.fileKey(), dataTarget);
+    }
+
+    /*
+     * Returns null if there is no ..data link, including on file systems that do not support symbolic links.
+     */
+    @Nullable
+    private Path dataTarget() {
+        try {
+            return Files.readSymbolicLink(root.resolve(DATA));
+        } catch (NoSuchFileException | NotLinkException | UnsupportedOperationException e) {
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("unable to read link '%s'", root.resolve(DATA)), e);
+        }
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RefreshableBinding that = (RefreshableBinding) o;
+        return root.equals(that.root);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(root);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "RefreshableBinding{" +
+            "root=" + root +
+            ", generation=" + getGeneration() +
+            '}';
+    }
+
+    private static final class Entry {
+
+        private static final Entry MISSING = new Entry(null, null);
+
+        private final Fingerprint fingerprint;
+
+        private final byte[] value;
+
+        private Entry(@Nullable Fingerprint fingerprint, @Nullable byte[] value) {
+            this.fingerprint = fingerprint;
+            this.value = value;
+        }
+
+    }
+
+    private static final class Fingerprint {
+
+        private final long size;
+
+        private final FileTime modified;
+
+        private final Object fileKey;
+
+        private final Path dataTarget;
+
+        private Fingerprint(long size, FileTime modified, @Nullable Object fileKey, @Nullable Path dataTarget) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.dataTarget = dataTarget;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Fingerprint that = (Fingerprint) o;
+            return size == that.size && modified.equals(that.modified) && Objects.equals(fileKey, that.fileKey) &&
+                Objects.equals(dataTarget, that.dataTarget);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, modified, fileKey, dataTarget);
+        }
+
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Schedules {@link RefreshableBinding#refresh()} so that a storm of rotations has a bounded effect.  A binding that is
+ * already waiting to be refreshed is not queued again, at most a fixed number of refreshes run at once, and waiting
+ * bindings are refreshed in order of how recently they were read, most recent first.  Bindings are compared by
+ * identity, so equal instances for the same directory, each with its own cache, are each refreshed.  A binding that is
+ * scheduled while it is being refreshed is queued again, since it may have changed after its refresh began.
+ * Instances are safe for concurrent use.
+ */
+public final class ReloadScheduler {
+
+    private static final Comparator<Task> PRIORITY = Comparator
+        .comparingLong((Task t) -> t.lastAccess).reversed()
+        .thenComparingLong(t -> t.sequence);
+
+    private final int concurrency;
+
+    private final Executor executor;
+
+    private final Object monitor = new Object();
+
+    private final PriorityQueue<Task> queue = new PriorityQueue<>(PRIORITY);
+
+    // equal bindings for the same root have their own caches, so each instance is refreshed
+    private final Map<RefreshableBinding, Task> waiting = new IdentityHashMap<>();
+
+    private long sequence;
+
+    private int running;
+
+    /**
+     * Creates a new {@code ReloadScheduler} instance that refreshes on virtual threads.
+     *
+     * @param concurrency the maximum number of refreshes to run at once
+     */
+    public ReloadScheduler(int concurrency) {
+        this(concurrency, Async.executor());
+    }
+
+    /**
+     * Creates a new {@code ReloadScheduler} instance.
+     *
+     * @param concurrency the maximum number of refreshes to run at once
+     * @param executor    the {@link Executor} to refresh on
+     */
+    public ReloadScheduler(int concurrency, @NotNull Executor executor) {
+        Assert.notNull(executor, "executor must not be null");
+
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules a refresh of a {@link RefreshableBinding}.  If the binding is already waiting to be refreshed, no
+     * further refresh is scheduled and the returned {@link CompletableFuture} completes with the waiting one.  The
+     * priority of the binding is determined by {@link RefreshableBinding#getLastAccess()} when it is first queued.
+     *
+     * @param binding the {@code RefreshableBinding} to refresh
+     * @return a {@code CompletableFuture} that completes with the result of {@link RefreshableBinding#refresh()}
+     */
+    @NotNull
+    public CompletableFuture<Set<String>> schedule(@NotNull RefreshableBinding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        Task task;
+        synchronized (monitor) {
+            task = waiting.get(binding);
+
+            if (task == null) {
+                task = new Task(binding, binding.getLastAccess(), sequence++);
+                waiting.put(binding, task);
+                queue.add(task);
+            }
+        }
+
+        drain();
+        return task.future.copy();
+    }
+
+    /**
+     * Returns the number of bindings waiting to be refreshed.
+     *
+     * @return the number of bindings waiting to be refreshed
+     */
+    public int getWaiting() {
+        synchronized (monitor) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Returns the number of refreshes running.
+     *
+     * @return the number of refreshes running
+     */
+    public int getRunning() {
+        synchronized (monitor) {
+            return running;
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Task task;
+            synchronized (monitor) {
+                if (running >= concurrency || queue.isEmpty()) {
+                    return;
+                }
+
+                task = queue.remove();
+                waiting.remove(task.binding);
+                running++;
+            }
+
+            try {
+                executor.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                synchronized (monitor) {
+                    running--;
+                }
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            task.future.complete(task.binding.refresh());
+        } catch (RuntimeException e) {
+            task.future.completeExceptionally(e);
+        } catch (Error e) {
+            task.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (monitor) {
+                running--;
+            }
+            drain();
+        }
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "ReloadScheduler{" +
+            "concurrency=" + concurrency +
+            ", waiting=" + getWaiting() +
+            ", running=" + getRunning() +
+            '}';
+    }
+
+    private static final class Task {
+
+        private final RefreshableBinding binding;
+
+        private final long lastAccess;
+
+        private final long sequence;
+
+        private final CompletableFuture<Set<String>> future = new CompletableFuture<>();
+
+        private Task(RefreshableBinding binding, long lastAccess, long sequence) {
+            this.binding = binding;
+            this.lastAccess = lastAccess;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
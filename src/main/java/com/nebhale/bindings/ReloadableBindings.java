@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A holder that publishes an immutable snapshot of a collection of {@link Binding}s.  Readers never take a lock and
+ * always observe a complete snapshot.  A reload builds a new snapshot and swaps it in atomically, so a snapshot is
+ * never replaced by one that started loading before it.
+ */
+public final class ReloadableBindings implements BindingSource {
+
+    private final Supplier<Binding[]> loader;
+
+    private final AtomicLong generations = new AtomicLong();
+
+    private final AtomicReference<Snapshot> current;
+
+    /**
+     * Creates a new {@code ReloadableBindings} instance, loading the initial snapshot synchronously.
+     *
+     * @param loader the loader used to create each snapshot
+     */
+    public ReloadableBindings(@NotNull Supplier<Binding[]> loader) {
+        Assert.notNull(loader, "loader must not be null");
+
+        this.loader = loader;
+        this.current = new AtomicReference<>(load(generations.incrementAndGet()));
+    }
+
+    /**
+     * Creates a new {@code ReloadableBindings} instance that loads cached {@link Binding}s from the specified path.
+     *
+     * @param root the root to populate the {@link Binding}s from
+     * @return a new {@code ReloadableBindings} instance
+     */
+    @NotNull
+    public static ReloadableBindings from(@NotNull Path root) {
+        Assert.notNull(root, "root must not be null");
+
+        return new ReloadableBindings(() -> Bindings.cached(Bindings.from(root)));
+    }
+
+    /**
+     * Returns a copy of the current snapshot.
+     *
+     * @return a copy of the current snapshot
+     */
+    @NotNull
+    @Override
+    public Binding[] getBindings() {
+        return current.get().bindings.clone();
+    }
+
+    /**
+     * Returns the generation of the current snapshot.  The generation increases each time a newer snapshot is
+     * published.
+     *
+     * @return the generation of the current snapshot
+     */
+    public long getGeneration() {
+        return current.get().generation;
+    }
+
+    /**
+     * Returns a {@link Binding} with a given name from the current snapshot.  Equivalent to
+     * {@link Bindings#find(Binding[], String)} without copying the snapshot.
+     *
+     * @param name the name of the {@code Binding} to find
+     * @return the {@code Binding} with a given name if it exists, {@code null} otherwise
+     */
+    @Nullable
+    public Binding find(@NotNull String name) {
+        return Bindings.find(current.get().bindings, name);
+    }
+
+    /**
+     * Return zero or more {@link Binding}s with a given type and provider from the current snapshot.  Equivalent to
+     * {@link Bindings#filter(Binding[], String, String)} without copying the snapshot.
+     *
+     * @param type     the type of {@code Binding} to find
+     * @param provider the provider of {@code Binding} to find
+     * @return the collection of {@code Binding}s with a given type and provider
+     */
+    @NotNull
+    public Binding[] filter(@Nullable String type, @Nullable String provider) {
+        return Bindings.filter(current.get().bindings, type, provider);
+    }
+
+    /**
+     * Loads a new snapshot on the calling thread and publishes it.
+     *
+     * @return the published snapshot
+     */
+    @NotNull
+    public Binding[] reload() {
+        return publish(load(generations.incrementAndGet()));
+    }
+
+    /**
+     * Loads a new snapshot on an {@link Executor} and publishes it.  Readers continue to observe the previous snapshot
+     * until loading completes.
+     *
+     * @param executor the {@code Executor} to load the snapshot on
+     * @return a {@link CompletableFuture} that completes with the published snapshot
+     */
+    @NotNull
+    public CompletableFuture<Binding[]> reloadAsync(@NotNull Executor executor) {
+        Assert.notNull(executor, "executor must not be null");
+
+        long generation = generations.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> publish(load(generation)), executor);
+    }
+
+    private Snapshot load(long generation) {
+        Binding[] bindings = loader.get();
+
+        if (bindings == null) {
+            throw new IllegalStateException("loader must not return null");
+        }
+
+        return new Snapshot(generation, bindings.clone());
+    }
+
+    private Binding[] publish(Snapshot candidate) {
+        Snapshot published = current.updateAndGet(s -> s.generation < candidate.generation ? candidate : s);
+        return published.bindings.clone();
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "ReloadableBindings{" +
+            "generation=" + getGeneration() +
+            '}';
+    }
+
+    private static final class Snapshot {
+
+        private final long generation;
+
+        private final Binding[] bindings;
+
+        private Snapshot(long generation, Binding[] bindings) {
+            this.generation = generation;
+            this.bindings = bindings;
+        }
+
+    }
+
+}
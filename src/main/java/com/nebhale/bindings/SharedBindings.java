@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * A collection of {@link Binding}s shared between processes through a directory, typically an {@code emptyDir} volume
+ * mounted into several containers of a pod.  One process publishes snapshots with
+ * {@link #publish(Binding[], Path)}, and other processes {@link #open(Path)} the directory and read the most recently
+ * published snapshot in place.  Binding values are held once in the page cache rather than in the heap of each
+ * process.
+ * <p>
+ * The directory contains a {@value #VERSION} file holding a counter that is incremented each time a snapshot is
+ * published, and a {@code snapshot-<version>} file for each recent snapshot.  Readers check the counter on each
+ * access and map a newer snapshot when it changes.  The directory must be on a file system that can map files.
+ * Snapshots are written with mode {@code 0640} on POSIX file systems.  Instances are safe for concurrent use.
+ */
+public final class SharedBindings implements BindingSource {
+
+    /**
+     * The name of the file holding the version of the most recently published snapshot.
+     */
+    public static final String VERSION = "version";
+
+    private static final VarHandle COUNTER = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+
+    private volatile ByteBuffer counter;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(0, new Binding[0]));
+
+    private SharedBindings(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a directory that snapshots are published to.  The directory does not need to contain a snapshot yet.
+     *
+     * @param directory the directory snapshots are published to
+     * @return a {@code SharedBindings} reading from the directory
+     */
+    @NotNull
+    public static SharedBindings open(@NotNull Path directory) {
+        Assert.notNull(directory, "directory must not be null");
+
+        return new SharedBindings(directory);
+    }
+
+    /**
+     * Publishes a snapshot of {@link Binding}s to a directory, and removes snapshots older than the previous one along
+     * with temporary files left behind by failed publishers.  Publishers in different processes are serialized with a
+     * file lock.  Snapshots are readable by the owner and group of the publishing process, so readers must run as the
+     * same user or share its group, for example through the {@code fsGroup} of a pod.
+     *
+     * @param bindings  the {@link Binding}s to publish
+     * @param directory the directory to publish to
+     * @return the version of the published snapshot
+     * @throws IllegalStateException if the snapshot cannot be published
+     */
+    public static long publish(@NotNull Binding[] bindings, @NotNull Path directory) {
+        Assert.notNull(bindings, "bindings must not be null");
+        Assert.notNull(directory, "directory must not be null");
+
+        try {
+            Files.createDirectories(directory);
+
+            try (FileChannel channel = FileChannel.open(directory.resolve(VERSION),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                FileLock lock = channel.lock();
+                try {
+                    return publish(bindings, directory, channel);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new IllegalStateException(String.format("unable to publish bindings to '%s'", directory), e);
+        }
+    }
+
+    private static long publish(Binding[] bindings, Path directory, FileChannel channel) throws IOException {
+        ByteBuffer counter = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        long previous = (long) COUNTER.getVolatile(counter, 0);
+        long version = previous + 1;
+
+        BindingSnapshot.write(bindings, snapshot(directory, version));
+        COUNTER.setVolatile(counter, 0, version);
+
+        removeBefore(directory, previous);
+        return version;
+    }
+
+    /**
+     * Returns the {@link Binding}s of the most recently published snapshot.  If no snapshot has been published, an
+     * empty collection is returned.
+     *
+     * @return the {@link Binding}s of the most recently published snapshot
+     */
+    @NotNull
+    @Override
+    public Binding[] getBindings() {
+        return refresh().bindings.clone();
+    }
+
+    /**
+     * Returns the version of the most recently published snapshot, or {@code 0} if no snapshot has been published.
+     *
+     * @return the version of the most recently published snapshot
+     */
+    public long getVersion() {
+        ByteBuffer c = counter();
+        return c == null ? 0 : (long) COUNTER.getVolatile(c, 0);
+    }
+
+    private Snapshot refresh() {
+        while (true) {
+            Snapshot s = current.get();
+            long version = getVersion();
+
+            if (version == s.version) {
+                return s;
+            }
+
+            Binding[] bindings;
+            try {
+                bindings = BindingSnapshot.read(snapshot(directory, version));
+            } catch (IllegalStateException e) {
+                if (e.getCause() instanceof NoSuchFileException) {
+                    continue;
+                }
+                throw e;
+            }
+
+            Snapshot candidate = new Snapshot(version, bindings);
+            Snapshot published = current.updateAndGet(p -> p.version < candidate.version ? candidate : p);
+            if (published.version >= version) {
+                return published;
+            }
+        }
+    }
+
+    private ByteBuffer counter() {
+        ByteBuffer c = counter;
+        if (c != null) {
+            return c;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(VERSION), StandardOpenOption.READ)) {
+            if (channel.size() < Long.BYTES) {
+                return null;
+            }
+
+            c = channel.map(FileChannel.MapMode.READ_ONLY, 0, Long.BYTES);
+            counter = c;
+            return c;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | UnsupportedOperationException e) {
+            throw new IllegalStateException(String.format("unable to read version of '%s'", directory), e);
+        }
+    }
+
+    private static Path snapshot(Path directory, long version) {
+        return directory.resolve(String.format("snapshot-%d", version));
+    }
+
+    private static void removeBefore(Path directory, long version) throws IOException {
+        try (Stream<Path> children = Files.list(directory)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                String name = child.getFileName().toString();
+                if (!name.startsWith("snapshot-")) {
+                    continue;
+                }
+
+                try {
+                    if (name.endsWith(".tmp")) {
+                        // left behind by a publisher that failed while holding the lock
+                        Files.deleteIfExists(child);
+                    } else if (Long.parseLong(name.substring("snapshot-".length())) < version) {
+                        Files.deleteIfExists(child);
+                    }
+                } catch (NumberFormatException e) {
+                    // not a snapshot
+                } catch (IOException e) {
+                    // still mapped on a platform that prevents deletion, removed by a later publish
+                }
+            }
+        }
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "SharedBindings{" +
+            "directory=" + directory +
+            '}';
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+
+        private final Binding[] bindings;
+
+        private Snapshot(long version, Binding[] bindings) {
+            this.version = version;
+            this.bindings = bindings;
+        }
+
+    }
+
+}
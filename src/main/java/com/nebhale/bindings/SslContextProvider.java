@@ -0,0 +1,186 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+
+/**
+ * Creates an {@link SSLContext}, and the {@link KeyStore}s it is built from, from the PEM encoded {@link #CERTIFICATE},
+ * {@link #PRIVATE_KEY}, and {@link #CA_CERTIFICATE} entries of a {@link Binding}.  The material is parsed once and
+ * parsed again only when the {@code Binding} changes.  Use a {@link RefreshableBinding}, refreshed when the volume is
+ * updated, for example by a {@link ReloadScheduler}: returning the existing material then compares versions and reads
+ * no files, and a rotation is seen as soon as the binding is refreshed.  With other bindings, the entries are read
+ * again on every call.  Instances are safe for concurrent use.
+ */
+public final class SslContextProvider {
+
+    /**
+     * The key for the PEM encoded certificate chain of a binding.
+     */
+    public static final String CERTIFICATE = "tls.crt";
+
+    /**
+     * The key for the PEM encoded private key of a binding.
+     */
+    public static final String PRIVATE_KEY = "tls.key";
+
+    /**
+     * The key for the PEM encoded certificate authority certificates of a binding.
+     */
+    public static final String CA_CERTIFICATE = "ca.crt";
+
+    private static final char[] PASSWORD = new char[0];
+
+    private final Projection<Material> material;
+
+    /**
+     * Creates a new {@code SslContextProvider} instance.
+     *
+     * @param binding the {@link Binding} to read the PEM encoded material from
+     */
+    public SslContextProvider(@NotNull Binding binding) {
+        Assert.notNull(binding, "binding must not be null");
+
+        this.material = new Projection<>(binding, SslContextProvider::create);
+    }
+
+    /**
+     * Returns a {@link KeyStore} containing the {@link #PRIVATE_KEY} and {@link #CERTIFICATE} chain of the binding.
+     * The {@code KeyStore} is shared and must not be modified.
+     *
+     * @return a {@link KeyStore} if the binding contains a private key and certificate, otherwise {@code null}
+     * @throws IllegalStateException if the material cannot be parsed
+     */
+    @Nullable
+    public KeyStore getKeyStore() {
+        return material.get().keyStore;
+    }
+
+    /**
+     * Returns an {@link SSLContext} using the {@link #PRIVATE_KEY} and {@link #CERTIFICATE} chain of the binding, if
+     * present, as its key material, and the {@link #CA_CERTIFICATE}s of the binding, if present, as its trust
+     * material.  If the binding has no CA certificates, the default trust material of the JVM is used.
+     *
+     * @return an {@link SSLContext}
+     * @throws IllegalStateException if the material cannot be parsed
+     */
+    @NotNull
+    public SSLContext getSslContext() {
+        return material.get().sslContext;
+    }
+
+    /**
+     * Returns a {@link KeyStore} containing the {@link #CA_CERTIFICATE}s of the binding.  The {@code KeyStore} is
+     * shared and must not be modified.
+     *
+     * @return a {@link KeyStore} if the binding contains CA certificates, otherwise {@code null}
+     * @throws IllegalStateException if the material cannot be parsed
+     */
+    @Nullable
+    public KeyStore getTrustStore() {
+        return material.get().trustStore;
+    }
+
+    private static Material create(Binding binding) {
+        byte[] certificate = binding.getAsBytes(CERTIFICATE);
+        byte[] privateKey = binding.getAsBytes(PRIVATE_KEY);
+        byte[] caCertificate = binding.getAsBytes(CA_CERTIFICATE);
+
+        try {
+            KeyStore keyStore = null;
+            if (certificate != null && privateKey != null) {
+                X509Certificate[] chain = Pem.certificates(certificate);
+                if (chain.length == 0) {
+                    throw new IllegalStateException(
+                        String.format("binding '%s' tls.crt contains no certificates", binding.getName()));
+                }
+
+                keyStore = keyStore();
+                keyStore.setKeyEntry("binding", Pem.privateKey(privateKey), PASSWORD, chain);
+            }
+
+            KeyStore trustStore = null;
+            if (caCertificate != null) {
+                trustStore = keyStore();
+                X509Certificate[] certificates = Pem.certificates(caCertificate);
+                for (int i = 0; i < certificates.length; i++) {
+                    trustStore.setCertificateEntry(String.format("ca-%d", i), certificates[i]);
+                }
+            }
+
+            KeyManagerFactory keyManagers = null;
+            if (keyStore != null) {
+                keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+                keyManagers.init(keyStore, PASSWORD);
+            }
+
+            TrustManagerFactory trustManagers = TrustManagerFactory
+                .getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagers.init(trustStore);
+
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagers == null ? null : keyManagers.getKeyManagers(),
+                trustManagers.getTrustManagers(), null);
+
+            return new Material(keyStore, trustStore, sslContext);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException(
+                String.format("unable to create SSLContext for binding '%s'", binding.getName()), e);
+        }
+    }
+
+    private static KeyStore keyStore() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        return keyStore;
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "SslContextProvider{" +
+            "binding=" + material.getBinding() +
+            '}';
+    }
+
+    private static final class Material {
+
+        private final KeyStore keyStore;
+
+        private final KeyStore trustStore;
+
+        private final SSLContext sslContext;
+
+        private Material(@Nullable KeyStore keyStore, @Nullable KeyStore trustStore, @NotNull SSLContext sslContext) {
+            this.keyStore = keyStore;
+            this.trustStore = trustStore;
+            this.sslContext = sslContext;
+        }
+
+    }
+
+}
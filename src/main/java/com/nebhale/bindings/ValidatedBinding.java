@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * An implementation of {@link Binding} that has been checked by a {@link BindingValidator}.  Entries required by the
+ * schema of its type can be read with {@link #getRequired(String)} without checking for {@code null}.  The result of
+ * validation is kept until one of the entries it was derived from changes, so {@link #revalidate()} is cheap when the
+ * binding has not changed.  When the validated {@code Binding} is a {@link VersionedBinding}, such as a
+ * {@link RefreshableBinding}, {@code revalidate()} compares versions without reading any entries; otherwise it reads
+ * again the entries that validation used.
+ */
+public final class ValidatedBinding implements EnumerableBinding {
+
+    private final Binding delegate;
+
+    private final Projection<List<String>> violations;
+
+    ValidatedBinding(@NotNull Binding delegate, @NotNull BindingValidator validator) {
+        this.delegate = delegate;
+        this.violations = new Projection<>(delegate, validator::violations);
+
+        revalidate();
+    }
+
+    /**
+     * Returns the contents of an entry required by the schema of this binding's type.
+     *
+     * @param key the key of the entry to retrieve
+     * @return the contents of the entry
+     * @throws IllegalStateException if the entry does not exist
+     */
+    @NotNull
+    public byte[] getRequiredAsBytes(@NotNull String key) {
+        byte[] value = delegate.getAsBytes(key);
+
+        if (value == null) {
+            throw new IllegalStateException(
+                String.format("binding '%s' does not contain required entry '%s'", getName(), key));
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the contents of an entry required by the schema of this binding's type as a UTF-8 decoded and trimmed
+     * {@code String}.
+     *
+     * @param key the key of the entry to retrieve
+     * @return the contents of the entry
+     * @throws IllegalStateException if the entry does not exist
+     */
+    @NotNull
+    public String getRequired(@NotNull String key) {
+        String value = delegate.get(key);
+
+        if (value == null) {
+            throw new IllegalStateException(
+                String.format("binding '%s' does not contain required entry '%s'", getName(), key));
+        }
+
+        return value;
+    }
+
+    /**
+     * Validates this binding again.  Validation is only performed if one of the entries it was derived from has
+     * changed since it was last performed, or, for a {@link VersionedBinding}, if its version has changed.
+     *
+     * @throws IllegalStateException if this binding is not valid
+     */
+    public void revalidate() {
+        List<String> v = violations.get();
+
+        if (!v.isEmpty()) {
+            throw new IllegalStateException(
+                String.format("binding '%s' is not valid: %s", getName(), String.join(", ", v)));
+        }
+    }
+
+    @Nullable
+    @Override
+    public byte[] getAsBytes(@NotNull String key) {
+        return delegate.getAsBytes(key);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<byte[]> getAsBytesAsync(@NotNull String key, @NotNull Executor executor) {
+        return delegate.getAsBytesAsync(key, executor);
+    }
+
+    @Override
+    public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+        return delegate.read(key, dst);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getAsCharSequence(@NotNull String key) {
+        return delegate.getAsCharSequence(key);
+    }
+
+    @NotNull
+    @Override
+    public Set<String> getKeys() {
+        return Bindings.keys(delegate);
+    }
+
+    @NotNull
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Generated
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ValidatedBinding that = (ValidatedBinding) o;
+        return delegate.equals(that.delegate);
+    }
+
+    @Generated
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate);
+    }
+
+    @Generated
+    @NotNull
+    @Override
+    public String toString() {
+        return "ValidatedBinding{" +
+            "delegate=" + delegate +
+            '}';
+    }
+
+}
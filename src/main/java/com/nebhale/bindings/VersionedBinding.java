@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+/**
+ * A {@link Binding} that can report cheaply whether its contents have changed.  Values derived from a
+ * {@code VersionedBinding}, such as those of {@link SslContextProvider} and {@link JdbcDescriptorProvider}, are checked
+ * by comparing versions, without reading any entries.
+ */
+public interface VersionedBinding extends Binding {
+
+    /**
+     * Returns the version of the binding.  The version changes whenever the contents of any entry that has been read
+     * change.
+     *
+     * @return the version of the binding
+     */
+    long getVersion();
+
+}
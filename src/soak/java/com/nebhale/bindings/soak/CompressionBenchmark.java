@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings.soak;
+
+import com.nebhale.bindings.Binding;
+import com.nebhale.bindings.CacheBinding;
+import com.nebhale.bindings.CompressedCacheBinding;
+import com.nebhale.bindings.MapBinding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * A benchmark that reports the memory-versus-CPU trade-off of {@link CompressedCacheBinding} against
+ * {@link CacheBinding}.  Each binding holds a certificate bundle, a JSON configuration document, and a few small
+ * entries.  Reads follow a skewed pattern in which a few bindings are read most of the time, and the benchmark is
+ * repeated for several sizes of the per-binding cache of decompressed values.  Stored bytes are measured after the
+ * reads, and include the decompressed values held for recent use.
+ * <p>
+ * Usage: {@code CompressionBenchmark [bindings] [reads]}
+ */
+public final class CompressionBenchmark {
+
+    private static final String[] KEYS = {"ca.crt", "config.json", "username", "password", "type"};
+
+    private static volatile long sink;
+
+    private CompressionBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int bindings = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int reads = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        Binding[] sources = new Binding[bindings];
+        long raw = 0;
+        for (int i = 0; i < bindings; i++) {
+            Map<String, byte[]> content = content(i);
+            raw += content.values().stream().mapToLong(v -> v.length).sum();
+            sources[i] = new MapBinding(String.format("binding-%05d", i), content);
+        }
+
+        System.out.printf("%d bindings, %d reads, %d bytes of values%n%n", bindings, reads, raw);
+        System.out.printf("%-24s %14s %14s %10s %12s %10s%n", "cache", "stored bytes", "hot bytes", "ratio", "ns/read",
+            "fill ms");
+
+        report("CacheBinding", raw, sources, CacheBinding::new, reads);
+        for (int hot : new int[]{0, 1, 2}) {
+            report(String.format("Compressed (hot=%d)", hot), raw, sources,
+                b -> new CompressedCacheBinding(b, CompressedCacheBinding.DEFAULT_THRESHOLD, hot), reads);
+        }
+    }
+
+    private static void report(String name, long raw, Binding[] sources, Function<Binding, Binding> wrapper,
+                               int reads) {
+
+        Binding[] bindings = new Binding[sources.length];
+        long start = System.nanoTime();
+        long stored = 0;
+        for (int i = 0; i < sources.length; i++) {
+            bindings[i] = wrapper.apply(sources[i]);
+
+            for (String key : KEYS) {
+                stored += bindings[i].getAsBytes(key).length;
+            }
+        }
+        double fill = (System.nanoTime() - start) / 1e6;
+
+        Random random = new Random(42);
+        for (int i = 0; i < reads; i++) {
+            sink += read(bindings, random);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            sink += read(bindings, random);
+        }
+        double perRead = (double) (System.nanoTime() - start) / reads;
+
+        long hot = 0;
+        if (bindings[0] instanceof CompressedCacheBinding) {
+            stored = 0;
+            for (Binding binding : bindings) {
+                stored += ((CompressedCacheBinding) binding).getStoredSize();
+                hot += ((CompressedCacheBinding) binding).getHotSize();
+            }
+        }
+
+        System.out.printf("%-24s %14d %14d %10.2f %12.1f %10.1f%n", name, stored, hot, (double) (stored + hot) / raw,
+            perRead, fill);
+    }
+
+    /*
+     * Nine reads in ten go to one of four bindings; the rest are spread across all of them.
+     */
+    private static int read(Binding[] bindings, Random random) {
+        int binding = random.nextInt(10) < 9 ? random.nextInt(Math.min(4, bindings.length)) :
+            random.nextInt(bindings.length);
+        byte[] value = bindings[binding].getAsBytes(KEYS[random.nextInt(KEYS.length)]);
+        return value == null ? 0 : value.length;
+    }
+
+    private static Map<String, byte[]> content(int index) {
+        Random random = new Random(index);
+        Map<String, byte[]> content = new HashMap<>();
+
+        StringBuilder bundle = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            byte[] der = new byte[1200];
+            random.nextBytes(der);
+            bundle.append("-----BEGIN CERTIFICATE-----\n")
+                .append(Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(der))
+                .append("\n-----END CERTIFICATE-----\n");
+        }
+        content.put("ca.crt", bundle.toString().getBytes(StandardCharsets.US_ASCII));
+
+        StringBuilder json = new StringBuilder("{\n  \"services\": [\n");
+        for (int i = 0; i < 100; i++) {
+            json.append(String.format("    {\"name\": \"service-%d\", " +
+                "\"url\": \"https://service-%d.example.com:8443\", \"timeout\": %d, \"retries\": 3, " +
+                "\"enabled\": true}%s%n", i, i, random.nextInt(10_000), i < 99 ? "," : ""));
+        }
+        content.put("config.json", json.append("  ]\n}\n").toString().getBytes(StandardCharsets.UTF_8));
+
+        content.put("username", String.format("user-%d", index).getBytes(StandardCharsets.UTF_8));
+        content.put("password", String.format("password-%d", random.nextLong()).getBytes(StandardCharsets.UTF_8));
+        content.put("type", "postgresql".getBytes(StandardCharsets.UTF_8));
+
+        return content;
+    }
+
+}
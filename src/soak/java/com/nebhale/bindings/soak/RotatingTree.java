@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings.soak;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A tree of bindings laid out as Kubernetes projects a Secret volume: each entry is a symbolic link through
+ * {@code ..data} to a timestamped directory.  {@link #rotate()} writes a new timestamped directory, swaps
+ * {@code ..data} to it atomically, and deletes the previous directory, as the kubelet does when a Secret changes.
+ */
+final class RotatingTree {
+
+    static final String[] KEYS = {"type", "provider", "host", "username", "password"};
+
+    private static final String DATA = "..data";
+
+    private final Path root;
+
+    private final int bindings;
+
+    private long generation;
+
+    RotatingTree(Path root, int bindings) throws IOException {
+        this.root = root;
+        this.bindings = bindings;
+
+        for (int i = 0; i < bindings; i++) {
+            Path binding = Files.createDirectory(root.resolve(name(i)));
+            Files.createSymbolicLink(binding.resolve(DATA), write(binding, i));
+
+            for (String key : KEYS) {
+                Files.createSymbolicLink(binding.resolve(key), Paths.get(DATA, key));
+            }
+        }
+    }
+
+    static String name(int binding) {
+        return String.format("binding-%05d", binding);
+    }
+
+    static String type(int binding) {
+        return String.format("type-%d", binding % 10);
+    }
+
+    int getBindings() {
+        return bindings;
+    }
+
+    Path getRoot() {
+        return root;
+    }
+
+    void rotate() throws IOException {
+        generation++;
+
+        for (int i = 0; i < bindings; i++) {
+            Path binding = root.resolve(name(i));
+            Path previous = Files.readSymbolicLink(binding.resolve(DATA));
+
+            Path link = Files.createSymbolicLink(binding.resolve(DATA + "_tmp"), write(binding, i));
+            Files.move(link, binding.resolve(DATA), StandardCopyOption.ATOMIC_MOVE);
+
+            delete(binding.resolve(previous));
+        }
+    }
+
+    void delete() throws IOException {
+        delete(root);
+    }
+
+    private Path write(Path binding, int index) throws IOException {
+        Path directory = Files.createDirectory(
+            binding.resolve(String.format("..%d_%d", generation, System.nanoTime())));
+
+        for (String key : KEYS) {
+            String value = "type".equals(key) ? type(index) : String.format("%s-%d-%d", key, index, generation);
+            Files.write(directory.resolve(key), value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return directory.getFileName();
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings.soak;
+
+import com.nebhale.bindings.Binding;
+import com.nebhale.bindings.Bindings;
+import com.nebhale.bindings.ConfigTreeBinding;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * A soak harness that measures read latency while the bindings are being rotated.  Each scenario runs platform and
+ * virtual reader threads concurrently for a fixed duration while a writer rotates every binding through its
+ * {@code ..data} link, and reports latency percentiles, throughput, allocation, and errors.
+ * <p>
+ * Usage: {@code Soak [seconds] [bindings] [platform-readers] [virtual-readers] [rotation-millis]}
+ */
+public final class Soak {
+
+    private static final String HEADER = "%-12s %-8s %8s %12s %10s %9s %9s %9s %9s %7s%n";
+
+    private static final String ROW = "%-12s %-8s %8d %12d %10.0f %9.1f %9.1f %9.1f %9.1f %7d%n";
+
+    private Soak() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration duration = Duration.ofSeconds(argument(args, 0, 10));
+        int bindings = argument(args, 1, 100);
+        int platformReaders = argument(args, 2, 8);
+        int virtualReaders = argument(args, 3, 1_000);
+        Duration rotation = Duration.ofMillis(argument(args, 4, 100));
+
+        RotatingTree tree = new RotatingTree(Files.createTempDirectory("soak-"), bindings);
+        try {
+            System.out.printf("%d bindings, %d platform readers, %d virtual readers, rotation every %d ms, %d s per " +
+                "scenario%n%n", bindings, platformReaders, virtualReaders, rotation.toMillis(), duration.getSeconds());
+            System.out.printf(HEADER, "scenario", "threads", "readers", "ops", "ops/s", "p50 us", "p99 us",
+                "p99.9 us", "max us", "errors");
+
+            for (Scenario scenario : Scenario.values()) {
+                run(scenario, tree, duration, platformReaders, virtualReaders, rotation);
+            }
+        } finally {
+            tree.delete();
+        }
+    }
+
+    private static void run(Scenario scenario, RotatingTree tree, Duration duration, int platformReaders,
+                            int virtualReaders, Duration rotation) throws InterruptedException {
+
+        IntFunction<String> reader = scenario.reader(tree.getRoot());
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong rotations = new AtomicLong();
+
+        Thread writer = Thread.ofPlatform().name("soak-writer").start(() -> {
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(rotation);
+                    tree.rotate();
+                    rotations.incrementAndGet();
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    throw new IllegalStateException("unable to rotate bindings", e);
+                }
+            }
+        });
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = threads.getTotalThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        List<Reader> readers = new ArrayList<>();
+        List<Thread> readerThreads = new ArrayList<>();
+        for (int i = 0; i < platformReaders + virtualReaders; i++) {
+            boolean platform = i < platformReaders;
+            Reader r = new Reader(platform ? "platform" : "virtual", reader, tree.getBindings(), deadline);
+            readers.add(r);
+            readerThreads.add((platform ? Thread.ofPlatform() : Thread.ofVirtual()).start(r));
+        }
+        for (Thread thread : readerThreads) {
+            thread.join();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytes = threads.getTotalThreadAllocatedBytes() - allocated;
+        writer.join();
+
+        long ops = 0;
+        for (String kind : new String[]{"platform", "virtual"}) {
+            Histogram histogram = new Histogram();
+            long errors = 0;
+            int count = 0;
+
+            for (Reader r : readers) {
+                if (r.kind.equals(kind)) {
+                    histogram.add(r.histogram);
+                    errors += r.errors;
+                    count++;
+                }
+            }
+
+            ops += histogram.getCount();
+            System.out.printf(ROW, scenario.name().toLowerCase(), kind, count, histogram.getCount(),
+                histogram.getCount() / seconds, histogram.percentile(50) / 1e3, histogram.percentile(99) / 1e3,
+                histogram.percentile(99.9) / 1e3, histogram.getMax() / 1e3, errors);
+        }
+
+        System.out.printf("%-12s %-8s %8d %12d %10.0f  %.0f bytes/op, %d rotations%n%n",
+            scenario.name().toLowerCase(), "total", readers.size(), ops, ops / seconds,
+            ops == 0 ? 0.0 : (double) bytes / ops, rotations.get());
+    }
+
+    private static int argument(String[] args, int index, int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private enum Scenario {
+
+        /**
+         * Reads through an uncached {@link ConfigTreeBinding}, so every read touches the file system.
+         */
+        CONFIG_TREE {
+            @Override
+            IntFunction<String> reader(Path root) {
+                Binding[] bindings = Bindings.from(root);
+                return i -> bindings[i].get(RotatingTree.KEYS[i % RotatingTree.KEYS.length]);
+            }
+        },
+
+        /**
+         * Reads through a {@link com.nebhale.bindings.CacheBinding}, so only the first read of an entry touches the
+         * file system.
+         */
+        CACHE {
+            @Override
+            IntFunction<String> reader(Path root) {
+                Binding[] bindings = Bindings.cached(Bindings.from(root));
+                return i -> bindings[i].get(RotatingTree.KEYS[i % RotatingTree.KEYS.length]);
+            }
+        },
+
+        /**
+         * Discovers the bindings, filters them by type, and reads an entry, as an application that does not hold on
+         * to its bindings does.
+         */
+        BINDINGS {
+            @Override
+            IntFunction<String> reader(Path root) {
+                return i -> {
+                    Binding[] bindings = Bindings.filter(Bindings.from(root), RotatingTree.type(i));
+                    return bindings.length == 0 ? null : bindings[0].get("password");
+                };
+            }
+        };
+
+        abstract IntFunction<String> reader(Path root);
+
+    }
+
+    private static final class Reader implements Runnable {
+
+        private final String kind;
+
+        private final IntFunction<String> reader;
+
+        private final int bindings;
+
+        private final long deadline;
+
+        private final Histogram histogram = new Histogram();
+
+        private long errors;
+
+        private Reader(String kind, IntFunction<String> reader, int bindings, long deadline) {
+            this.kind = kind;
+            this.reader = reader;
+            this.bindings = bindings;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            long now = System.nanoTime();
+            while (now < deadline) {
+                int binding = random.nextInt(bindings);
+
+                try {
+                    if (reader.apply(binding) == null) {
+                        errors++;
+                    }
+                } catch (RuntimeException e) {
+                    errors++;
+                }
+
+                long end = System.nanoTime();
+                histogram.record(end - now);
+                now = end;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class AccessProfileTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void missing() {
+        assertThat(AccessProfile.read(root.resolve("missing")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void empty() {
+        assertThat(new AccessProfile(Map.of("test-name", Collections.emptySet())).isEmpty()).isTrue();
+    }
+
+    @Test
+    void roundTrip() {
+        AccessProfile profile = new AccessProfile(Map.of(
+            "test-name-1", new TreeSet<>(Arrays.asList("type", "test-secret-key")),
+            "test-name-2", Collections.singleton("provider")
+        ));
+        Path file = root.resolve("profile");
+
+        profile.write(file);
+
+        assertThat(AccessProfile.read(file)).isEqualTo(profile);
+    }
+
+    @Test
+    void getKeys() {
+        AccessProfile profile = new AccessProfile(Map.of("Test-Name", Set.of("type")));
+
+        assertThat(profile.getKeys("test-name")).containsExactly("type");
+        assertThat(profile.getKeys("test-missing-name")).isEmpty();
+    }
+
+    @Test
+    void malformed() throws IOException {
+        Path file = Files.write(root.resolve("profile"), "test-name".getBytes(StandardCharsets.UTF_8));
+        assertThatIllegalStateException().isThrownBy(() -> AccessProfile.read(file));
+    }
+}
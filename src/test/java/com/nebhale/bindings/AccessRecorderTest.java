@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class AccessRecorderTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void records() {
+        AccessRecorder recorder = AccessProfile.record(bindings(), Duration.ofHours(1), root.resolve("profile"));
+        Binding b = Bindings.find(recorder.getBindings(), "test-name");
+
+        assertThat(b.get("test-secret-key")).isEqualTo("test-secret-value");
+        assertThat(b.get("test-missing-key")).isNull();
+        assertThat(Bindings.filter(recorder.getBindings(), "test-type")).hasSize(1);
+
+        assertThat(recorder.isRecording()).isTrue();
+        assertThat(recorder.getProfile().getKeys("test-name")).containsExactly("test-secret-key", "type");
+    }
+
+    @Test
+    void writes() {
+        Path file = root.resolve("profile");
+        AccessRecorder recorder = AccessProfile.record(bindings(), Duration.ZERO, file);
+
+        recorder.getBindings()[0].get("test-secret-key");
+        AccessProfile profile = recorder.whenWritten().join();
+
+        assertThat(recorder.isRecording()).isFalse();
+        assertThat(profile.isEmpty()).isTrue();
+        assertThat(AccessProfile.read(file)).isEqualTo(profile);
+    }
+
+    private static Binding[] bindings() {
+        return new Binding[]{
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("type", "test-type")
+                .withEntry("test-secret-key", "test-secret-value")
+                .withEntry("test-other-key", "test-other-value")
+                .asBytes())
+        };
+    }
+}
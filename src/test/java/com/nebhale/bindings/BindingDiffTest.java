@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class BindingDiffTest {
+    @Test
+    void same() {
+        ThrowingBinding b = new ThrowingBinding();
+        assertThat(Bindings.diff(b, b).isEmpty()).isTrue();
+    }
+
+    @Test
+    void equal() {
+        BindingDiff diff = Bindings.diff(
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key-1", "test-value-1")
+                .asBytes()),
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key-1", "test-value-1")
+                .asBytes()));
+
+        assertThat(diff.getName()).isEqualTo("test-name");
+        assertThat(diff.isEmpty()).isTrue();
+    }
+
+    @Test
+    void changes() {
+        BindingDiff diff = Bindings.diff(
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key-1", "test-value-1")
+                .withEntry("test-key-2", "test-value-2")
+                .withEntry("test-key-3", "test-value-3")
+                .asBytes()),
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key-2", "test-value-2")
+                .withEntry("test-key-3", "test-value-4")
+                .withEntry("test-key-4", "test-value-4")
+                .asBytes()));
+
+        assertThat(diff.isEmpty()).isFalse();
+        assertThat(diff.getAdded()).containsExactly("test-key-4");
+        assertThat(diff.getRemoved()).containsExactly("test-key-1");
+        assertThat(diff.getChanged()).containsExactly("test-key-3");
+    }
+
+    @Test
+    void fingerprinted(@TempDir Path root) throws IOException {
+        Files.write(root.resolve("test-key"), "test-value-1".getBytes(StandardCharsets.UTF_8));
+        RefreshableBinding refreshable = new RefreshableBinding(root);
+        assertThat(refreshable.get("test-key")).isEqualTo("test-value-1");
+
+        CountingBinding before = new CountingBinding(refreshable);
+        CountingBinding after = new CountingBinding(new ConfigTreeBinding(root));
+
+        assertThat(Bindings.diff(before, after).isEmpty()).isTrue();
+        assertThat(before.count).isZero();
+        assertThat(after.count).isZero();
+
+        Files.write(root.resolve("test-key"), "test-value-22".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Bindings.diff(before, after).getChanged()).containsExactly("test-key");
+        assertThat(before.count).isEqualTo(1);
+        assertThat(after.count).isEqualTo(1);
+    }
+
+    private static final class CountingBinding implements EnumerableBinding, FingerprintedBinding {
+
+        private final Binding delegate;
+
+        private int count = 0;
+
+        private CountingBinding(Binding delegate) {
+            this.delegate = delegate;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            count++;
+            return delegate.getAsBytes(key);
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys() {
+            return ((EnumerableBinding) delegate).getKeys();
+        }
+
+        @Nullable
+        @Override
+        public Object getFingerprint(@NotNull String key) {
+            return ((FingerprintedBinding) delegate).getFingerprint(key);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+    }
+
+    private static final class ThrowingBinding implements EnumerableBinding {
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            throw new AssertionError("binding must not be read");
+        }
+
+        @NotNull
+        @Override
+        public Set<String> getKeys() {
+            throw new AssertionError("binding must not be read");
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "test-name";
+        }
+
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class BindingSchemaTest {
+    @Test
+    void integer() {
+        Predicate<String> p = BindingSchema.integer();
+
+        assertThat(p).accepts("0", "42", "-1", "+7");
+        assertThat(p).rejects("", "1.5", "test-value");
+    }
+
+    @Test
+    void pattern() {
+        Predicate<String> p = BindingSchema.pattern("test-[a-z]+");
+
+        assertThat(p).accepts("test-value");
+        assertThat(p).rejects("test-", "other-test-value", "test-value-1");
+    }
+
+    @Test
+    void port() {
+        Predicate<String> p = BindingSchema.port();
+
+        assertThat(p).accepts("1", "5432", "65535");
+        assertThat(p).rejects("0", "65536", "99999", "-1", "test-port");
+    }
+
+    @Test
+    void withRequired() {
+        BindingSchema s = BindingSchema.of("test-type").withOptional("test-key").withRequired("test-key");
+
+        assertThat(s.getRequired()).containsOnlyKeys("test-key");
+        assertThat(s.getOptional()).isEmpty();
+    }
+
+    @Test
+    void withOptional() {
+        BindingSchema s = BindingSchema.of("test-type").withRequired("test-key").withOptional("test-key");
+
+        assertThat(s.getRequired()).isEmpty();
+        assertThat(s.getOptional()).containsOnlyKeys("test-key");
+    }
+
+    @Test
+    void immutable() {
+        BindingSchema s = BindingSchema.of("test-type");
+
+        assertThat(s.withRequired("test-key")).isNotSameAs(s);
+        assertThat(s.getRequired()).isEmpty();
+    }
+}
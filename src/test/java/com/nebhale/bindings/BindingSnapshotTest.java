@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class BindingSnapshotTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void empty() {
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(new Binding[0], file);
+
+        assertThat(BindingSnapshot.read(file)).isEmpty();
+    }
+
+    @Test
+    void roundTrip() {
+        Binding[] original = Bindings.from(Paths.get("src/test/resources"));
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(original, file);
+
+        Binding[] mapped = BindingSnapshot.read(file);
+
+        assertThat(mapped).hasSameSizeAs(original);
+        for (int i = 0; i < original.length; i++) {
+            assertThat(mapped[i]).isInstanceOf(MappedBinding.class);
+            assertThat(mapped[i].getName()).isEqualTo(original[i].getName());
+            Set<String> keys = ((EnumerableBinding) original[i]).getKeys();
+            assertThat(((EnumerableBinding) mapped[i]).getKeys()).isEqualTo(keys);
+
+            for (String key : keys) {
+                assertThat(mapped[i].getAsBytes(key)).isEqualTo(original[i].getAsBytes(key));
+
+                ByteBuffer dst = ByteBuffer.allocate(64);
+                assertThat(mapped[i].read(key, dst)).isEqualTo(original[i].getAsBytes(key).length);
+                assertThat(dst.flip()).isEqualTo(ByteBuffer.wrap(original[i].getAsBytes(key)));
+            }
+        }
+    }
+
+    @Test
+    void missing() {
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(new Binding[]{
+            new MapBinding("test-name-1", new FluentMap()
+                .withEntry("test-secret-key", "test-secret-value")
+                .asBytes()),
+            new MapBinding("test-name-2", new FluentMap()
+                .withEntry("test-other-key", "test-secret-value")
+                .asBytes()),
+        }, file);
+
+        Binding[] mapped = BindingSnapshot.read(file);
+
+        assertThat(mapped[0].getAsBytes("test-secret-key")).isNotNull();
+        assertThat(mapped[0].getAsBytes("test-other-key")).isNull();
+        assertThat(mapped[1].getAsBytes("test-secret-key")).isNull();
+        assertThat(mapped[1].getAsBytes("test^invalid^key")).isNull();
+        assertThat(mapped[1].read("test-secret-key", ByteBuffer.allocate(64))).isEqualTo(-1);
+    }
+
+    @Test
+    void large() {
+        Binding[] original = new Binding[500];
+        for (int i = 0; i < original.length; i++) {
+            Map<String, byte[]> content = new HashMap<>();
+            for (int j = 0; j < i % 20; j++) {
+                content.put(String.format("test-key-%d", j),
+                    String.format("test-value-%d-%d", i, j).getBytes(StandardCharsets.UTF_8));
+            }
+            original[i] = new MapBinding(String.format("test-name-%d", i), content);
+        }
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(original, file);
+
+        Binding[] mapped = BindingSnapshot.read(file);
+
+        for (int i = 0; i < original.length; i++) {
+            for (int j = 0; j < 20; j++) {
+                String key = String.format("test-key-%d", j);
+                assertThat(mapped[i].getAsBytes(key)).isEqualTo(original[i].getAsBytes(key));
+            }
+        }
+    }
+
+    @Test
+    void replace() {
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(new Binding[]{ new MapBinding("test-name-1", new HashMap<>()) }, file);
+        Binding[] before = BindingSnapshot.read(file);
+
+        BindingSnapshot.write(new Binding[0], file);
+
+        assertThat(before[0].getName()).isEqualTo("test-name-1");
+        assertThat(BindingSnapshot.read(file)).isEmpty();
+    }
+
+    @Test
+    void invalid() throws Exception {
+        Path file = Files.write(root.resolve("snapshot"), "test-invalid-content".getBytes(StandardCharsets.UTF_8));
+
+        assertThatIllegalStateException().isThrownBy(() -> BindingSnapshot.read(file));
+    }
+
+    @Test
+    void truncated() throws Exception {
+        Path file = root.resolve("snapshot");
+        BindingSnapshot.write(Bindings.from(Paths.get("src/test/resources")), file);
+
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 8));
+
+        assertThatIllegalStateException().isThrownBy(() -> BindingSnapshot.read(file))
+            .withMessage("corrupt binding snapshot");
+    }
+
+    @Test
+    void unreadable() {
+        assertThatIllegalStateException().isThrownBy(() -> BindingSnapshot.read(root.resolve("missing")));
+    }
+}
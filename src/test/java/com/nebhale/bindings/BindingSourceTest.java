@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class BindingSourceTest {
+    @Test
+    void of() {
+        assertThat(BindingSource.of(Paths.get("src/test/resources")).getBindings()).hasSize(3);
+    }
+
+    @Test
+    void serviceBindingRoot() {
+        assertThat(BindingSource.serviceBindingRoot().getBindings()).isEmpty();
+    }
+
+    @Test
+    void composite() {
+        Binding[] bindings = BindingSource.composite(
+            () -> new Binding[]{ new MapBinding("test-name-1", Collections.emptyMap()) },
+            () -> new Binding[]{
+                new MapBinding("test-name-1", Collections.emptyMap()),
+                new MapBinding("test-name-2", Collections.emptyMap())
+            }
+        ).getBindings();
+
+        assertThat(bindings).extracting(Binding::getName).containsExactly("test-name-1", "test-name-2");
+    }
+
+    @Test
+    void discover(@TempDir Path root) throws Exception {
+        Path services = Files.createDirectories(root.resolve("META-INF/services"));
+        Files.write(services.resolve(BindingSource.class.getName()),
+            StubBindingSource.class.getName().getBytes(StandardCharsets.UTF_8));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{ root.toUri().toURL() }, original)) {
+            Thread.currentThread().setContextClassLoader(loader);
+
+            assertThat(BindingSource.discover().getBindings())
+                .extracting(Binding::getName)
+                .containsExactly("test-discovered");
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    @Test
+    void cached() {
+        for (Binding binding : StubBindingSource.INSTANCE.cached().getBindings()) {
+            assertThat(binding).isInstanceOf(CacheBinding.class);
+        }
+    }
+
+    @Test
+    void compressed() {
+        for (Binding binding : StubBindingSource.INSTANCE.compressed().getBindings()) {
+            assertThat(binding).isInstanceOf(CompressedCacheBinding.class);
+        }
+    }
+
+    @Test
+    void deduplicated() {
+        BindingSource s = () -> new Binding[]{
+            new MapBinding("test-name", Collections.emptyMap()),
+            new MapBinding("TEST-NAME", Collections.emptyMap())
+        };
+
+        assertThat(s.deduplicated().getBindings()).hasSize(1);
+    }
+
+    @Test
+    void metered() {
+        AtomicInteger count = new AtomicInteger();
+        AtomicLong duration = new AtomicLong(-1);
+
+        StubBindingSource.INSTANCE.metered((bindings, nanos) -> {
+            count.addAndGet(bindings.length);
+            duration.set(nanos);
+        }).getBindings();
+
+        assertThat(count).hasValue(1);
+        assertThat(duration.get()).isNotNegative();
+    }
+
+    @Test
+    void prefetched() {
+        for (Binding binding : StubBindingSource.INSTANCE.prefetched().getBindings()) {
+            assertThat(binding).isInstanceOf(PrefetchedBinding.class);
+        }
+    }
+
+    @Test
+    void reloadable() {
+        AtomicInteger count = new AtomicInteger();
+        BindingSource s = () -> {
+            count.incrementAndGet();
+            return StubBindingSource.INSTANCE.getBindings();
+        };
+
+        ReloadableBindings r = s.cached().reloadable();
+        r.getBindings();
+        r.getBindings();
+
+        assertThat(count).hasValue(1);
+        assertThat(r.getBindings()[0]).isInstanceOf(CacheBinding.class);
+    }
+
+    @Test
+    void validated() {
+        BindingValidator v = BindingValidator.of(BindingSchema.of("test-type"));
+
+        for (Binding binding : StubBindingSource.INSTANCE.validated(v).getBindings()) {
+            assertThat(binding).isInstanceOf(ValidatedBinding.class);
+        }
+    }
+
+    @Test
+    void validatedInvalid() {
+        BindingValidator v = BindingValidator.of(BindingSchema.of("test-type").withRequired("test-key"));
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> StubBindingSource.INSTANCE.validated(v).getBindings())
+            .withMessage("binding 'test-discovered' is not valid: does not contain required entry 'test-key'");
+    }
+
+    public static final class StubBindingSource implements BindingSource {
+        private static final StubBindingSource INSTANCE = new StubBindingSource();
+
+        @NotNull
+        @Override
+        public Binding[] getBindings() {
+            return new Binding[]{
+                new MapBinding("test-discovered", new FluentMap()
+                    .withEntry("type", "test-type")
+                    .asBytes())
+            };
+        }
+    }
+}
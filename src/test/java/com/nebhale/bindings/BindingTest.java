@@ -16,15 +16,71 @@
 
 package com.nebhale.bindings;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 final class BindingTest {
+    @Nested
+    final class ContentEquals {
+        @Test
+        void missing() {
+            Binding b = new MapBinding("test-name", Collections.emptyMap());
+            assertThat(b.contentEquals("test-missing-key", "test-value")).isFalse();
+        }
+
+        @Test
+        void valid() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", " test-value\n")
+                .asBytes());
+
+            assertThat(b.contentEquals("test-key", "test-value")).isTrue();
+            assertThat(b.contentEquals("test-key", "TEST-VALUE")).isFalse();
+            assertThat(b.contentEquals("test-key", "test-valu")).isFalse();
+        }
+    }
+
+    @Nested
+    final class ContentEqualsIgnoreCase {
+        @Test
+        void missing() {
+            Binding b = new MapBinding("test-name", Collections.emptyMap());
+            assertThat(b.contentEqualsIgnoreCase("test-missing-key", "test-value")).isFalse();
+        }
+
+        @Test
+        void nonAscii() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", "tëst-välue")
+                .asBytes());
+
+            assertThat(b.contentEqualsIgnoreCase("test-key", "TËST-VÄLUE")).isTrue();
+        }
+
+        @Test
+        void valid() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", "test-value\n")
+                .asBytes());
+
+            assertThat(b.contentEqualsIgnoreCase("test-key", "TEST-VALUE")).isTrue();
+            assertThat(b.contentEqualsIgnoreCase("test-key", "other-value")).isFalse();
+        }
+    }
+
     @Nested
     final class Get {
         @Test
@@ -43,6 +99,85 @@ final class BindingTest {
         }
     }
 
+    @Nested
+    final class GetAsBytesAsync {
+        @Test
+        void defaultExecutor() {
+            AtomicBoolean virtual = new AtomicBoolean();
+            Binding b = new Binding() {
+                @Override
+                public byte[] getAsBytes(@NotNull String key) {
+                    virtual.set(Thread.currentThread().isVirtual());
+                    return "test-value".getBytes(StandardCharsets.UTF_8);
+                }
+
+                @NotNull
+                @Override
+                public String getName() {
+                    return "test-name";
+                }
+            };
+
+            assertThat(b.getAsBytesAsync("test-key").join()).isEqualTo("test-value".getBytes(StandardCharsets.UTF_8));
+            assertThat(virtual).isTrue();
+        }
+
+        @Test
+        void executor() {
+            Binding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+            AtomicBoolean used = new AtomicBoolean();
+            Executor executor = task -> {
+                used.set(true);
+                task.run();
+            };
+
+            assertThat(b.getAsBytesAsync("test-missing-key", executor).join()).isNull();
+            assertThat(used).isTrue();
+        }
+    }
+
+    @Nested
+    final class GetAsCharSequence {
+        @Test
+        void missing() {
+            Binding b = new MapBinding("test-name", Collections.emptyMap());
+            assertThat(b.getAsCharSequence("test-missing-key")).isNull();
+        }
+
+        @Test
+        void nonAscii() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", " tëst-välue\n")
+                .asBytes());
+
+            assertThat(b.getAsCharSequence("test-key")).hasToString("tëst-välue");
+        }
+
+        @Test
+        void valid() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", " test-value\n")
+                .asBytes());
+
+            assertThat(b.getAsCharSequence("test-key")).hasToString("test-value");
+        }
+    }
+
+    @Nested
+    final class GetAsync {
+        @Test
+        void missing() {
+            Binding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+            assertThat(b.getAsync("test-missing-key").join()).isNull();
+        }
+
+        @Test
+        void valid() {
+            Binding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+            assertThat(b.getAsync("test-secret-key").join()).isEqualTo("test-secret-value");
+        }
+    }
+
     @Nested
     final class GetProvider {
         @Test
@@ -78,4 +213,36 @@ final class BindingTest {
             assertThat(b.getType()).isEqualTo("test-type");
         }
     }
+
+    @Nested
+    final class Read {
+        @Test
+        void missing() {
+            Binding b = new MapBinding("test-name", Collections.emptyMap());
+            assertThat(b.read("test-missing-key", ByteBuffer.allocate(16))).isEqualTo(-1);
+        }
+
+        @Test
+        void overflow() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", "test-value")
+                .asBytes());
+            ByteBuffer dst = ByteBuffer.allocate(4);
+
+            assertThatExceptionOfType(BufferOverflowException.class).isThrownBy(() -> b.read("test-key", dst));
+            assertThat(dst.position()).isZero();
+        }
+
+        @Test
+        void valid() {
+            Binding b = new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", "test-value")
+                .asBytes());
+            ByteBuffer dst = ByteBuffer.allocate(16).put((byte) '>');
+
+            assertThat(b.read("test-key", dst)).isEqualTo(10);
+            assertThat(dst.position()).isEqualTo(11);
+            assertThat(new String(dst.array(), 0, 11)).isEqualTo(">test-value");
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class BindingValidatorTest {
+
+    private final BindingValidator validator = BindingValidator.of(
+        BindingSchema.of("test-type")
+            .withRequired("test-host")
+            .withRequired("test-port", BindingSchema.port())
+            .withOptional("test-database", BindingSchema.pattern("[a-z-]+"))
+    );
+
+    @Test
+    void valid() {
+        ValidatedBinding b = validator.validate(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "Test-Type")
+            .withEntry("test-host", "test-host-value")
+            .withEntry("test-port", "5432")
+            .asBytes()));
+
+        assertThat(b.getRequired("test-host")).isEqualTo("test-host-value");
+    }
+
+    @Test
+    void missing() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> validator.validate(new MapBinding("test-name", new FluentMap()
+                .withEntry("type", "test-type")
+                .withEntry("test-port", "5432")
+                .asBytes())))
+            .withMessage("binding 'test-name' is not valid: does not contain required entry 'test-host'");
+    }
+
+    @Test
+    void invalidFormat() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> validator.validate(new MapBinding("test-name", new FluentMap()
+                .withEntry("type", "test-type")
+                .withEntry("test-host", "test-host-value")
+                .withEntry("test-port", "test-port-value")
+                .withEntry("test-database", "Test Database")
+                .asBytes())))
+            .withMessage("binding 'test-name' is not valid: has an invalid value for entry 'test-port', " +
+                "has an invalid value for entry 'test-database'");
+    }
+
+    @Test
+    void noType() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> validator.validate(new MapBinding("test-name", new FluentMap().asBytes())))
+            .withMessage("binding 'test-name' is not valid: does not contain a type");
+    }
+
+    @Test
+    void unknownType() {
+        ValidatedBinding b = validator.validate(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-other-type")
+            .asBytes()));
+
+        assertThat(b.getType()).isEqualTo("test-other-type");
+    }
+
+    @Test
+    void all() {
+        Binding[] bindings = new Binding[]{
+            new MapBinding("test-name-1", new FluentMap()
+                .withEntry("type", "test-type")
+                .asBytes()),
+            new MapBinding("test-name-2", new FluentMap()
+                .withEntry("type", "test-other-type")
+                .asBytes()),
+            new MapBinding("test-name-3", new FluentMap()
+                .asBytes()),
+        };
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> validator.validate(bindings))
+            .withMessageContaining("binding 'test-name-1' is not valid")
+            .withMessageContaining("binding 'test-name-3' is not valid")
+            .withMessageNotContaining("test-name-2");
+    }
+
+    @Test
+    void duplicateType() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> BindingValidator.of(BindingSchema.of("test-type"), BindingSchema.of("TEST-TYPE")));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class BindingsDiffTest {
+    @Test
+    void equal() {
+        BindingsDiff diff = Bindings.diff(Bindings.from(Paths.get("src/test/resources")),
+            Bindings.from(Paths.get("src/test/resources")));
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff).isEqualTo(Bindings.diff(new Binding[0], new Binding[0]));
+    }
+
+    @Test
+    void changes() {
+        Binding[] before = new Binding[]{
+            new MapBinding("test-name-1", new FluentMap()
+                .withEntry("test-key", "test-value-1")
+                .asBytes()),
+            new MapBinding("test-name-2", new FluentMap()
+                .withEntry("test-key", "test-value-2")
+                .asBytes()),
+            new MapBinding("test-name-3", new FluentMap()
+                .withEntry("test-key", "test-value-3")
+                .asBytes()),
+        };
+        Binding[] after = new Binding[]{
+            new MapBinding("TEST-NAME-2", new FluentMap()
+                .withEntry("test-key", "test-value-2")
+                .asBytes()),
+            new MapBinding("test-name-3", new FluentMap()
+                .withEntry("test-key", "test-value-4")
+                .asBytes()),
+            new MapBinding("test-name-4", new FluentMap()
+                .withEntry("test-key", "test-value-4")
+                .asBytes()),
+        };
+
+        BindingsDiff diff = Bindings.diff(before, after);
+
+        assertThat(diff.isEmpty()).isFalse();
+        assertThat(diff.getAdded()).containsExactly("test-name-4");
+        assertThat(diff.getRemoved()).containsExactly("test-name-1");
+        assertThat(diff.getChanged()).containsOnlyKeys("test-name-3");
+        assertThat(diff.getChanged().get("test-name-3").getChanged()).containsExactly("test-key");
+    }
+}
@@ -16,16 +16,24 @@
 
 package com.nebhale.bindings;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 final class BindingsTest {
     @Test
@@ -40,6 +48,18 @@ final class BindingsTest {
         }
     }
 
+    @Test
+    void compressed() {
+        Binding[] bindings = Bindings.compressed(new Binding[]{
+            new MapBinding("test-name-1", Collections.emptyMap()),
+            new MapBinding("test-name-2", Collections.emptyMap())
+        });
+
+        for (Binding binding : bindings) {
+            assertThat(binding).isInstanceOf(CompressedCacheBinding.class);
+        }
+    }
+
     @Nested
     final class From {
         @Test
@@ -56,6 +76,153 @@ final class BindingsTest {
         void valid() {
             assertThat(Bindings.from(Paths.get("src/test/resources"))).hasSize(3);
         }
+
+        @Test
+        void multiple() {
+            assertThat(Bindings.from(
+                Paths.get("src/test/resources/missing"),
+                Paths.get("src/test/resources"),
+                Paths.get("src/test/resources")
+            )).hasSize(3);
+        }
+    }
+
+    @Nested
+    final class FromAsync {
+        @Test
+        void valid() {
+            assertThat(Bindings.fromAsync(Paths.get("src/test/resources")).join()).hasSize(3);
+        }
+
+        @Test
+        void executor() {
+            AtomicInteger count = new AtomicInteger();
+
+            assertThat(Bindings.fromAsync(Paths.get("src/test/resources"), task -> {
+                count.incrementAndGet();
+                task.run();
+            }).join()).hasSize(3);
+            assertThat(count).hasValue(1);
+        }
+    }
+
+    @Nested
+    final class FromEnvironment {
+        @Test
+        void unset() {
+            assertThat(Bindings.fromEnvironment(Collections.emptyMap())).isEmpty();
+        }
+
+        @Test
+        @SuppressWarnings("ConstantConditions")
+        void valid() {
+            Binding[] bindings = Bindings.fromEnvironment(new FluentMap()
+                .withEntry("BINDING_DB_TYPE", "postgresql")
+                .withEntry("BINDING_DB_HOST", "test-host")
+                .withEntry("BINDING_DB_TLS_CRT", "test-certificate")
+                .withEntry("BINDING_CACHE_TYPE", "redis")
+                .withEntry("BINDING_INVALID", "test-value")
+                .withEntry("BINDING__TYPE", "test-value")
+                .withEntry("BINDING_INVALID_", "test-value")
+                .withEntry("OTHER_TYPE", "test-value"));
+
+            assertThat(bindings).extracting(Binding::getName).containsExactly("cache", "db");
+            assertThat(Bindings.find(bindings, "db").getType()).isEqualTo("postgresql");
+            assertThat(Bindings.find(bindings, "db").get("host")).isEqualTo("test-host");
+            assertThat(Bindings.find(bindings, "db").get("tls_crt")).isEqualTo("test-certificate");
+            assertThat(Bindings.filter(bindings, "redis")).hasSize(1);
+        }
+
+        @Test
+        @SuppressWarnings("ConstantConditions")
+        void multiWordName() {
+            Binding[] bindings = Bindings.fromEnvironment(new FluentMap()
+                .withEntry("BINDING_MY_DB__TYPE", "postgresql")
+                .withEntry("BINDING_MY_DASH_CACHE__TYPE", "redis")
+                .withEntry("BINDING_MY_DB__SSL_MODE", "require")
+                .withEntry("BINDING_MY_DB___TYPE", "test-value"));
+
+            assertThat(bindings).extracting(Binding::getName).containsExactly("my-cache", "my_db");
+            assertThat(Bindings.find(bindings, "my_db").getType()).isEqualTo("postgresql");
+            assertThat(Bindings.find(bindings, "my_db").get("ssl_mode")).isEqualTo("require");
+            assertThat(Bindings.find(bindings, "my_db").get("_type")).isEqualTo("test-value");
+            assertThat(Bindings.find(bindings, "my-cache").getType()).isEqualTo("redis");
+        }
+
+        @Test
+        @SuppressWarnings("ConstantConditions")
+        void escapedKeys() {
+            Binding[] bindings = Bindings.fromEnvironment(new FluentMap()
+                .withEntry("BINDING_DB__TLS_DOT_CRT", "test-certificate")
+                .withEntry("BINDING_DB__SSL_DASH_MODE", "require")
+                .withEntry("BINDING_KAFKA_BOOTSTRAP_DASH_SERVERS", "test-host:9092")
+                .withEntry("BINDING_DB__", "test-value"));
+
+            assertThat(((EnumerableBinding) Bindings.find(bindings, "db")).getKeys())
+                .containsExactlyInAnyOrder("tls.crt", "ssl-mode");
+            assertThat(Bindings.find(bindings, "db").get("tls.crt")).isEqualTo("test-certificate");
+            assertThat(Bindings.find(bindings, "kafka").get("bootstrap-servers")).isEqualTo("test-host:9092");
+        }
+    }
+
+    @Test
+    void project() {
+        Database d = Bindings.project(new MapBinding("test-name", new FluentMap()
+            .withEntry("host", "test-host")
+            .withEntry("port", "5432")
+            .asBytes()), Database.class);
+
+        assertThat(d.host()).isEqualTo("test-host");
+        assertThat(d.port()).isEqualTo(5432);
+    }
+
+    @Test
+    void snapshot(@TempDir Path root) {
+        Path file = root.resolve("snapshot");
+        Bindings.toSnapshot(Bindings.from(Paths.get("src/test/resources")), file);
+
+        Binding[] bindings = Bindings.fromSnapshot(file);
+
+        assertThat(bindings).hasSize(3);
+        assertThat(Bindings.filter(bindings, "test-type-1")).hasSize(2);
+    }
+
+    @Test
+    void snapshotNotEnumerable(@TempDir Path root) {
+        Binding[] bindings = new Binding[]{new CountingBinding("test-name", "test-type", null, new AtomicInteger())};
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Bindings.toSnapshot(bindings, root.resolve("snapshot")))
+            .withMessage("binding 'test-name' cannot enumerate its entries");
+    }
+
+    @Nested
+    final class Merge {
+        @Test
+        void precedence() {
+            Binding[] bindings = Bindings.merge(
+                new Binding[]{
+                    new MapBinding("test-name-1", new FluentMap()
+                        .withEntry("type", "test-type-1")
+                        .asBytes()),
+                },
+                new Binding[]{
+                    new MapBinding("TEST-NAME-1", new FluentMap()
+                        .withEntry("type", "test-type-2")
+                        .asBytes()),
+                    new MapBinding("test-name-2", new FluentMap()
+                        .withEntry("type", "test-type-2")
+                        .asBytes()),
+                }
+            );
+
+            assertThat(bindings).extracting(Binding::getName).containsExactly("test-name-1", "test-name-2");
+            assertThat(bindings[0].getType()).isEqualTo("test-type-1");
+        }
+
+        @Test
+        void empty() {
+            assertThat(Bindings.merge()).isEmpty();
+        }
     }
 
     @Nested
@@ -71,6 +238,67 @@ final class BindingsTest {
         }
     }
 
+    @Nested
+    final class Prefetch {
+        @Test
+        void wraps() {
+            Binding[] bindings = Bindings.prefetch(new Binding[]{
+                new MapBinding("test-name-1", new FluentMap()
+                    .withEntry("type", "test-type-1")
+                    .asBytes()),
+                new CacheBinding(new MapBinding("test-name-2", new FluentMap()
+                    .withEntry("type", "test-type-2")
+                    .asBytes()))
+            });
+
+            for (Binding binding : bindings) {
+                assertThat(binding).isInstanceOf(PrefetchedBinding.class);
+            }
+
+            assertThat(Bindings.prefetch(bindings)).containsExactly(bindings);
+        }
+
+        @Test
+        void filter() {
+            AtomicInteger count = new AtomicInteger();
+            Binding[] bindings = Bindings.prefetch(new Binding[]{
+                new CountingBinding("test-name-1", "test-type-1", "test-provider-1", count),
+                new CountingBinding("test-name-2", "test-type-1", null, count),
+                new CountingBinding("test-name-3", "test-type-2", "test-provider-1", count),
+            });
+            int prefetched = count.get();
+
+            assertThat(Bindings.filter(bindings, "test-type-1", "test-provider-1")).hasSize(1);
+            assertThat(Bindings.filter(bindings, null, "test-provider-1")).hasSize(2);
+            assertThat(count).hasValue(prefetched);
+        }
+
+        @Test
+        void virtualThreads() {
+            Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+            Binding[] source = new Binding[16];
+            for (int i = 0; i < source.length; i++) {
+                String name = String.format("test-name-%d", i);
+                source[i] = new Binding() {
+                    @Override
+                    public byte[] getAsBytes(@NotNull String key) {
+                        virtual.add(Thread.currentThread().isVirtual());
+                        return null;
+                    }
+
+                    @NotNull
+                    @Override
+                    public String getName() {
+                        return name;
+                    }
+                };
+            }
+
+            assertThat(Bindings.prefetch(source)).hasSize(16);
+            assertThat(virtual).containsExactly(true);
+        }
+    }
+
     @Nested
     final class Find {
         @Test
@@ -231,4 +459,37 @@ final class BindingsTest {
             assertThat(Bindings.filter(b, "test-type-1")).hasSize(2);
         }
     }
+
+    private record Database(String host, int port) {
+    }
+
+    private static final class CountingBinding implements Binding {
+        private final String name;
+        private final Map<String, byte[]> content;
+        private final AtomicInteger count;
+
+        private CountingBinding(String name, String type, @Nullable String provider, AtomicInteger count) {
+            this.name = name;
+            FluentMap content = new FluentMap().withEntry("type", type);
+            if (provider != null) {
+                content.withEntry("provider", provider);
+            }
+
+            this.content = content.asBytes();
+            this.count = count;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            count.incrementAndGet();
+            return content.get(key);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
 }
@@ -20,7 +20,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 final class CacheBindingTest {
     @Test
@@ -43,6 +47,22 @@ final class CacheBindingTest {
         assertThat(s.getAsBytesCount).isEqualTo(1);
     }
 
+    @Test
+    void getAsBytesAsync() {
+        StubBinding s = new StubBinding();
+        CacheBinding b = new CacheBinding(s);
+        Executor unused = task -> {
+            throw new AssertionError("executor must not be used");
+        };
+
+        assertThat(b.getAsBytesAsync("test-secret-key", Runnable::run).join()).isNotNull();
+
+        CompletableFuture<byte[]> cached = b.getAsBytesAsync("test-secret-key", unused);
+        assertThat(cached).isCompleted();
+        assertThat(cached.join()).isNotNull();
+        assertThat(s.getAsBytesCount).isEqualTo(1);
+    }
+
     @Test
     void getName() {
         StubBinding s = new StubBinding();
@@ -53,6 +73,23 @@ final class CacheBindingTest {
         assertThat(s.getNameCount).isEqualTo(2);
     }
 
+    @Test
+    void getKeys() {
+        CacheBinding b = new CacheBinding(new MapBinding("test-name", new FluentMap()
+            .withEntry("test-secret-key", "test-secret-value")
+            .asBytes()));
+
+        assertThat(b.getKeys()).containsExactly("test-secret-key");
+    }
+
+    @Test
+    void getKeysNotEnumerable() {
+        CacheBinding b = new CacheBinding(new StubBinding());
+
+        assertThatIllegalArgumentException().isThrownBy(b::getKeys)
+            .withMessage("binding 'test-name' cannot enumerate its entries");
+    }
+
     private static final class StubBinding implements Binding {
         private int getAsBytesCount = 0;
         private int getNameCount = 0;
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+final class CompressedCacheBindingTest {
+    @Test
+    void missing() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s);
+
+        assertThat(b.get("test-unknown-key")).isNull();
+        assertThat(b.get("test-unknown-key")).isNull();
+        assertThat(s.getAsBytesCount).isEqualTo(2);
+    }
+
+    @Test
+    void small() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s);
+
+        assertThat(b.getAsBytes("test-small-key")).isSameAs(s.small);
+        assertThat(b.getAsBytes("test-small-key")).isSameAs(s.small);
+        assertThat(b.getStoredSize()).isEqualTo(s.small.length);
+        assertThat(s.getAsBytesCount).isEqualTo(1);
+    }
+
+    @Test
+    void compressible() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s, 1024, 0);
+
+        byte[] first = b.getAsBytes("test-compressible-key");
+        byte[] second = b.getAsBytes("test-compressible-key");
+
+        assertThat(first).isEqualTo(s.compressible).isNotSameAs(second);
+        assertThat(second).isEqualTo(s.compressible);
+        assertThat(b.getStoredSize()).isLessThan(s.compressible.length / 4);
+        assertThat(s.getAsBytesCount).isEqualTo(1);
+    }
+
+    @Test
+    void incompressible() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s);
+
+        assertThat(b.getAsBytes("test-incompressible-key")).isSameAs(s.incompressible);
+        assertThat(b.getStoredSize()).isEqualTo(s.incompressible.length);
+    }
+
+    @Test
+    void hot() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s, 1024, 1);
+
+        byte[] value = b.getAsBytes("test-compressible-key");
+        assertThat(b.getAsBytes("test-compressible-key")).isSameAs(value);
+
+        b.getAsBytes("test-other-compressible-key");
+        assertThat(b.getAsBytes("test-compressible-key")).isNotSameAs(value).isEqualTo(value);
+    }
+
+    @Test
+    void getAsBytesAsync() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s, 1024, 0);
+        Executor unused = task -> {
+            throw new AssertionError("executor must not be used");
+        };
+
+        assertThat(b.getAsBytesAsync("test-compressible-key", Runnable::run).join()).isEqualTo(s.compressible);
+
+        CompletableFuture<byte[]> cached = b.getAsBytesAsync("test-compressible-key", unused);
+        assertThat(cached).isCompleted();
+        assertThat(cached.join()).isEqualTo(s.compressible);
+        assertThat(s.getAsBytesCount).isEqualTo(1);
+    }
+
+    @Test
+    void getHotSize() {
+        StubBinding s = new StubBinding();
+        CompressedCacheBinding b = new CompressedCacheBinding(s, 1024, 1);
+
+        b.getAsBytes("test-small-key");
+        assertThat(b.getHotSize()).isZero();
+
+        b.getAsBytes("test-compressible-key");
+        assertThat(b.getHotSize()).isEqualTo(s.compressible.length);
+
+        b.getAsBytes("test-other-compressible-key");
+        assertThat(b.getHotSize()).isEqualTo(s.otherCompressible.length);
+    }
+
+    @Test
+    void invalid() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CompressedCacheBinding(new StubBinding(), -1, 0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new CompressedCacheBinding(new StubBinding(), 0, -1));
+    }
+
+    @Test
+    void getKeys() {
+        CompressedCacheBinding b = new CompressedCacheBinding(new MapBinding("test-name", new FluentMap()
+            .withEntry("test-secret-key", "test-secret-value")
+            .asBytes()));
+
+        assertThat(b.getName()).isEqualTo("test-name");
+        assertThat(b.getKeys()).containsExactly("test-secret-key");
+    }
+
+    private static final class StubBinding implements Binding {
+
+        private final byte[] small = "test-small-value".getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] compressible = "test-compressible-value ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] otherCompressible = "test-other-value ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] incompressible = new byte[4096];
+
+        private int getAsBytesCount = 0;
+
+        private StubBinding() {
+            new Random(0).nextBytes(incompressible);
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            getAsBytesCount++;
+
+            switch (key) {
+                case "test-small-key":
+                    return small;
+                case "test-compressible-key":
+                    return compressible;
+                case "test-other-compressible-key":
+                    return otherCompressible;
+                case "test-incompressible-key":
+                    return incompressible;
+                default:
+                    return null;
+            }
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "test-name";
+        }
+
+    }
+}
@@ -18,10 +18,13 @@ package com.nebhale.bindings;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 final class ConfigTreeBindingTest {
     @Test
@@ -48,6 +51,51 @@ final class ConfigTreeBindingTest {
         assertThat(b.getAsBytes("test-secret-key")).isEqualTo("test-secret-value\n".getBytes(StandardCharsets.UTF_8));
     }
 
+    @Test
+    void read() {
+        ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+        ByteBuffer dst = ByteBuffer.allocateDirect(64);
+
+        assertThat(b.read("test-secret-key", dst)).isEqualTo(18);
+        assertThat(dst.flip()).isEqualTo(ByteBuffer.wrap("test-secret-value\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readMissing() {
+        ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+        ByteBuffer dst = ByteBuffer.allocate(64);
+
+        assertThat(b.read("test-missing-key", dst)).isEqualTo(-1);
+        assertThat(b.read(".hidden-data", dst)).isEqualTo(-1);
+        assertThat(dst.position()).isZero();
+    }
+
+    @Test
+    void readOverflow() {
+        ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+        ByteBuffer dst = ByteBuffer.allocate(8);
+
+        assertThatExceptionOfType(BufferOverflowException.class).isThrownBy(() -> b.read("test-secret-key", dst));
+        assertThat(dst.position()).isZero();
+    }
+
+    @Test
+    void getKeys() {
+        ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+        assertThat(b.getKeys()).containsExactly("provider", "test-secret-key", "type");
+    }
+
+    @Test
+    void getFingerprint() {
+        ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+        ConfigTreeBinding other = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
+
+        assertThat(b.getFingerprint("test-secret-key")).isNotNull().isEqualTo(other.getFingerprint("test-secret-key"));
+        assertThat(b.getFingerprint("test-secret-key")).isNotEqualTo(b.getFingerprint("type"));
+        assertThat(b.getFingerprint("test-missing-key")).isNull();
+        assertThat(b.getFingerprint(".hidden-data")).isNull();
+    }
+
     @Test
     void getName() {
         ConfigTreeBinding b = new ConfigTreeBinding(Paths.get("src/test/resources/test-k8s"));
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class ConnectionDetailsTest {
+
+    @Nested
+    final class Kafka {
+        @Test
+        void bootstrapServers() {
+            ConnectionDetails d = ConnectionDetails.kafka(new MapBinding("test-name", new FluentMap()
+                .withEntry("bootstrap-servers", "test-host-1:9093, test-host-2,[::1]:9094")
+                .withEntry("security.protocol", "SASL_SSL")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(
+                new ConnectionDetails.Address("test-host-1", 9093),
+                new ConnectionDetails.Address("test-host-2", 9092),
+                new ConnectionDetails.Address("::1", 9094));
+            assertThat(d.isTls()).isTrue();
+        }
+
+        @Test
+        void noBootstrapServers() {
+            assertThatIllegalStateException()
+                .isThrownBy(() -> ConnectionDetails.kafka(new MapBinding("test-name", new FluentMap().asBytes())))
+                .withMessage("binding 'test-name' does not contain bootstrap-servers");
+        }
+    }
+
+    @Nested
+    final class Mysql {
+        @Test
+        void defaults() {
+            ConnectionDetails d = ConnectionDetails.mysql(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 3306));
+            assertThat(d.isTls()).isFalse();
+        }
+
+        @Test
+        void tls() {
+            ConnectionDetails d = ConnectionDetails.mysql(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .withEntry("ssl-mode", "VERIFY_IDENTITY")
+                .asBytes()));
+
+            assertThat(d.isTls()).isTrue();
+        }
+    }
+
+    @Nested
+    final class Postgresql {
+        @Test
+        void complete() {
+            ConnectionDetails d = ConnectionDetails.postgresql(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .withEntry("port", "6543")
+                .withEntry("database", "test-database")
+                .withEntry("username", "test-username")
+                .withEntry("password", "test-password")
+                .withEntry("sslmode", "verify-full")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 6543));
+            assertThat(d.getDatabase()).isEqualTo("test-database");
+            assertThat(d.getUsername()).isEqualTo("test-username");
+            assertThat(d.getPassword()).isEqualTo("test-password");
+            assertThat(d.isTls()).isTrue();
+            assertThat(d.toString()).doesNotContain("test-password");
+        }
+
+        @Test
+        void disabledTls() {
+            ConnectionDetails d = ConnectionDetails.postgresql(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .withEntry("sslmode", "disable")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 5432));
+            assertThat(d.isTls()).isFalse();
+        }
+
+        @Test
+        void noHost() {
+            assertThatIllegalStateException()
+                .isThrownBy(() -> ConnectionDetails.postgresql(new MapBinding("test-name", new FluentMap().asBytes())))
+                .withMessage("binding 'test-name' does not contain a host");
+        }
+
+        @Test
+        void invalidPort() {
+            assertThatIllegalStateException()
+                .isThrownBy(() -> ConnectionDetails.postgresql(new MapBinding("test-name", new FluentMap()
+                    .withEntry("host", "test-host")
+                    .withEntry("port", "test-port")
+                    .asBytes())))
+                .withMessage("binding 'test-name' contains an invalid port 'test-port'");
+        }
+    }
+
+    @Nested
+    final class Rabbitmq {
+        @Test
+        void addresses() {
+            ConnectionDetails d = ConnectionDetails.rabbitmq(new MapBinding("test-name", new FluentMap()
+                .withEntry("addresses", "test-host-1,test-host-2:5673")
+                .withEntry("virtual-host", "test-virtual-host")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(
+                new ConnectionDetails.Address("test-host-1", 5672),
+                new ConnectionDetails.Address("test-host-2", 5673));
+            assertThat(d.getDatabase()).isEqualTo("test-virtual-host");
+        }
+
+        @Test
+        void tls() {
+            ConnectionDetails d = ConnectionDetails.rabbitmq(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .withEntry("ssl", "true")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 5671));
+            assertThat(d.isTls()).isTrue();
+        }
+    }
+
+    @Nested
+    final class Redis {
+        @Test
+        void defaults() {
+            ConnectionDetails d = ConnectionDetails.redis(new MapBinding("test-name", new FluentMap()
+                .withEntry("host", "test-host")
+                .withEntry("password", "test-password")
+                .asBytes()));
+
+            assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 6379));
+            assertThat(d.getUsername()).isNull();
+            assertThat(d.getPassword()).isEqualTo("test-password");
+            assertThat(d.isTls()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+final class ContentTest {
+    @Nested
+    final class Equals {
+        @Test
+        void caseSensitive() {
+            assertThat(Content.equals("test-value", "test-value", false)).isTrue();
+            assertThat(Content.equals("test-value", "TEST-VALUE", false)).isFalse();
+            assertThat(Content.equals("test-value", "test-values", false)).isFalse();
+        }
+
+        @Test
+        void ignoreCase() {
+            assertThat(Content.equals("test-value", "TEST-VALUE", true)).isTrue();
+            assertThat(Content.equals("İ", "i", true)).isEqualTo("İ".equalsIgnoreCase("i"));
+            assertThat(Content.equals("test-value", "test-other", true)).isFalse();
+        }
+    }
+
+    @Nested
+    final class Trimmed {
+        @Test
+        void ascii() {
+            byte[] content = " \ttest-value\n".getBytes(StandardCharsets.UTF_8);
+            CharSequence s = Content.trimmed(content);
+
+            assertThat(s).isInstanceOf(AsciiSequence.class);
+            assertThat(s.length()).isEqualTo(10);
+            assertThat(s.charAt(0)).isEqualTo('t');
+            assertThat(s.subSequence(5, 10)).hasToString("value");
+            assertThat(s).hasToString("test-value");
+            assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> s.charAt(10));
+        }
+
+        @Test
+        void empty() {
+            assertThat(Content.trimmed(" \n".getBytes(StandardCharsets.UTF_8))).isEmpty();
+        }
+
+        @Test
+        void nonAscii() {
+            byte[] content = " tëst-välue\n".getBytes(StandardCharsets.UTF_8);
+            assertThat(Content.trimmed(content)).hasToString("tëst-välue");
+        }
+    }
+}
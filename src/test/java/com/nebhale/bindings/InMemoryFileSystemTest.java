@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class InMemoryFileSystemTest {
+
+    private FileSystem fileSystem;
+
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileSystem = Jimfs.newFileSystem(Configuration.unix());
+        root = new SyntheticTree()
+            .withBindings(2_000)
+            .withEntries(4)
+            .withValueSize(256)
+            .withDataLinks(true)
+            .generate(fileSystem.getPath("/bindings"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        fileSystem.close();
+    }
+
+    @Test
+    void from() {
+        Binding[] bindings = Bindings.from(root);
+
+        assertThat(bindings).hasSize(2_000);
+        assertThat(Bindings.filter(bindings, "type-3")).hasSize(200);
+        assertThat(Bindings.filter(bindings, "type-3", "provider-1")).hasSize(67);
+        assertThat(Bindings.find(bindings, SyntheticTree.name(1_999)).getAsBytes(SyntheticTree.key(3)))
+            .isEqualTo(SyntheticTree.value(1_999, 3, 256));
+    }
+
+    @Test
+    void configTree() {
+        ConfigTreeBinding b = new ConfigTreeBinding(root.resolve(SyntheticTree.name(7)));
+        ByteBuffer dst = ByteBuffer.allocate(512);
+
+        assertThat(b.getName()).isEqualTo(SyntheticTree.name(7));
+        assertThat(b.getKeys()).containsExactly("key-0", "key-1", "key-2", "key-3", "provider", "type");
+        assertThat(b.getType()).isEqualTo("type-7");
+        assertThat(b.read(SyntheticTree.key(1), dst)).isEqualTo(256);
+        assertThat(dst.flip()).isEqualTo(ByteBuffer.wrap(SyntheticTree.value(7, 1, 256)));
+        assertThat(b.getAsync("provider").join()).isEqualTo("provider-1");
+    }
+
+    @Test
+    void refreshable() throws IOException {
+        Path binding = root.resolve(SyntheticTree.name(0));
+        RefreshableBinding b = new RefreshableBinding(binding);
+        byte[] value = b.getAsBytes(SyntheticTree.key(0));
+        b.getAsBytes(SyntheticTree.key(1));
+
+        Path next = Files.createDirectory(binding.resolve("..2021_01_02_00_00_00.000000000"));
+        for (String key : new String[]{"type", "provider", "key-0", "key-1", "key-2", "key-3"}) {
+            Files.copy(binding.resolve(key), next.resolve(key));
+        }
+        Files.write(next.resolve(SyntheticTree.key(1)), "test-value".getBytes(StandardCharsets.UTF_8));
+        Files.createSymbolicLink(binding.resolve("..data_tmp"), next.getFileName());
+        Files.move(binding.resolve("..data_tmp"), binding.resolve("..data"), StandardCopyOption.REPLACE_EXISTING);
+
+        assertThat(b.refresh()).containsExactly(SyntheticTree.key(1));
+        assertThat(b.getAsBytes(SyntheticTree.key(0))).isSameAs(value);
+        assertThat(b.get(SyntheticTree.key(1))).isEqualTo("test-value");
+    }
+
+    @Test
+    void snapshot() {
+        Binding[] original = Bindings.from(root);
+        Path file = fileSystem.getPath("/snapshot");
+
+        Bindings.toSnapshot(original, file);
+        Binding[] snapshot = Bindings.fromSnapshot(file);
+
+        assertThat(snapshot).hasSize(2_000);
+        assertThat(Bindings.diff(original, snapshot).isEmpty()).isTrue();
+    }
+
+    @Test
+    void preload() {
+        Path file = fileSystem.getPath("/profile");
+        new AccessProfile(Map.of(SyntheticTree.name(5), Set.of(SyntheticTree.key(2)))).write(file);
+
+        PreloadedBindings b = Bindings.preload(root, AccessProfile.read(file));
+        b.whenLoaded().join();
+
+        assertThat(b.find(SyntheticTree.name(5)).getAsBytes(SyntheticTree.key(2)))
+            .isEqualTo(SyntheticTree.value(5, 2, 256));
+    }
+
+    @Test
+    void record() {
+        Path file = fileSystem.getPath("/profile");
+        AccessRecorder recorder = AccessProfile.record(Bindings.from(root), Duration.ZERO, file);
+
+        assertThat(recorder.whenWritten().join()).isEqualTo(AccessProfile.read(file));
+    }
+
+    @Test
+    void shared() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> SharedBindings.publish(Bindings.from(root), fileSystem.getPath("/shared")));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class IndexTest {
+    private final Index index = new Index(new Binding[]{
+        new MapBinding("test-name-1", new FluentMap()
+            .withEntry("test-key", "alpha")
+            .asBytes()),
+        new MapBinding("test-name-2", new FluentMap()
+            .withEntry("test-key", " Alpha-Bravo\n")
+            .asBytes()),
+        new MapBinding("test-name-3", Collections.emptyMap()),
+    }, "test-key");
+
+    @Test
+    void equalTo() {
+        assertThat(index.select(Query.equalTo("test-key", "ALPHA")).stream()).containsExactly(0);
+    }
+
+    @Test
+    void startsWith() {
+        assertThat(index.select(Query.startsWith("test-key", "alpha")).stream()).containsExactly(0, 1);
+    }
+
+    @Test
+    void exists() {
+        assertThat(index.select(Query.exists("test-key")).stream()).containsExactly(0, 1);
+    }
+
+    @Test
+    void independent() {
+        index.select(Query.exists("test-key")).clear();
+
+        assertThat(index.select(Query.exists("test-key")).stream()).containsExactly(0, 1);
+    }
+}
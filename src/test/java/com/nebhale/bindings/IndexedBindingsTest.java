@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class IndexedBindingsTest {
+    private final IndexedBindings bindings = new IndexedBindings(new Binding[]{
+        new MapBinding("test-name-1", new FluentMap()
+            .withEntry("type", "test-type-1")
+            .withEntry("provider", "test-provider-1")
+            .withEntry("host", "test-host-1.example.com")
+            .withEntry("tier", "gold")
+            .asBytes()
+        ),
+        new MapBinding("test-name-2", new FluentMap()
+            .withEntry("type", "test-type-1")
+            .withEntry("provider", "test-provider-2")
+            .withEntry("host", "test-host-2.example.com")
+            .asBytes()
+        ),
+        new MapBinding("test-name-3", new FluentMap()
+            .withEntry("type", "test-type-2")
+            .withEntry("provider", "test-provider-2")
+            .withEntry("host", "other-host.example.com")
+            .withEntry("tier", "silver")
+            .asBytes()
+        ),
+        new MapBinding("test-name-4", Collections.emptyMap()),
+    });
+
+    @Test
+    @SuppressWarnings("ConstantConditions")
+    void from() {
+        IndexedBindings b = IndexedBindings.from(Paths.get("src/test/resources"), Paths.get("src/test/resources"));
+
+        assertThat(b.getBindings()).hasSize(3);
+        assertThat(b.find("test-k8s").getName()).isEqualTo("test-k8s");
+        assertThat(b.filter("test-type-1", null)).hasSize(2);
+    }
+
+    @Test
+    void virtualThreads() {
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        Binding[] source = new Binding[16];
+        for (int i = 0; i < source.length; i++) {
+            String name = String.format("test-name-%d", i);
+            source[i] = new Binding() {
+                @Override
+                public byte[] getAsBytes(@NotNull String key) {
+                    virtual.add(Thread.currentThread().isVirtual());
+                    return "test-type".getBytes(StandardCharsets.UTF_8);
+                }
+
+                @NotNull
+                @Override
+                public String getName() {
+                    return name;
+                }
+            };
+        }
+
+        assertThat(new IndexedBindings(source).filter("test-type", null)).hasSize(16);
+        assertThat(virtual).containsExactly(true);
+    }
+
+    @Test
+    void getBindings() {
+        assertThat(bindings.getBindings()).hasSize(4);
+    }
+
+    @Nested
+    final class Find {
+        @Test
+        void missing() {
+            assertThat(bindings.find("test-name-5")).isNull();
+        }
+
+        @Test
+        @SuppressWarnings("ConstantConditions")
+        void valid() {
+            assertThat(bindings.find("TEST-NAME-2").getName()).isEqualTo("test-name-2");
+        }
+    }
+
+    @Nested
+    final class Filter {
+        @Test
+        void none() {
+            assertThat(bindings.filter(null, null)).hasSize(4);
+        }
+
+        @Test
+        void type() {
+            assertThat(bindings.filter("TEST-TYPE-1", null)).hasSize(2);
+        }
+
+        @Test
+        void provider() {
+            assertThat(bindings.filter(null, "test-provider-2")).hasSize(2);
+        }
+
+        @Test
+        void typeAndProvider() {
+            assertThat(bindings.filter("test-type-1", "test-provider-1")).hasSize(1);
+        }
+    }
+
+    @Nested
+    final class QueryBindings {
+        @Test
+        void none() {
+            assertThat(bindings.query()).hasSize(4);
+        }
+
+        @Test
+        void equalTo() {
+            assertThat(bindings.query(Query.equalTo("tier", "GOLD")))
+                .extracting(Binding::getName)
+                .containsExactly("test-name-1");
+        }
+
+        @Test
+        void exists() {
+            assertThat(bindings.query(Query.exists("tier")))
+                .extracting(Binding::getName)
+                .containsExactly("test-name-1", "test-name-3");
+        }
+
+        @Test
+        void startsWith() {
+            assertThat(bindings.query(Query.startsWith("host", "test-host-")))
+                .extracting(Binding::getName)
+                .containsExactly("test-name-1", "test-name-2");
+        }
+
+        @Test
+        void conjunction() {
+            assertThat(bindings.query(Query.exists("tier"), Query.equalTo("type", "test-type-2")))
+                .extracting(Binding::getName)
+                .containsExactly("test-name-3");
+        }
+
+        @Test
+        void noMatch() {
+            assertThat(bindings.query(Query.equalTo("tier", "bronze"), Query.exists("host"))).isEmpty();
+        }
+    }
+}
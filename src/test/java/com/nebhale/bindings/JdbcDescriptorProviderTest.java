@@ -0,0 +1,50 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class JdbcDescriptorProviderTest {
+    @Test
+    void cached() {
+        JdbcDescriptorProvider p = new JdbcDescriptorProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("url", "jdbc:postgresql://test-host/test-database")
+            .asBytes()));
+
+        assertThat(p.getDescriptor()).isSameAs(p.getDescriptor());
+    }
+
+    @Test
+    void rotated() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("url", "jdbc:postgresql://test-host/test-database")
+            .withEntry("password", "test-password")
+            .asBytes();
+        JdbcDescriptorProvider p = new JdbcDescriptorProvider(new MapBinding("test-name", content));
+        JdbcDescriptor before = p.getDescriptor();
+
+        content.put("password", "test-other-password".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(p.getDescriptor()).isNotSameAs(before);
+        assertThat(p.getDescriptor().getProperties().getProperty("password")).isEqualTo("test-other-password");
+    }
+}
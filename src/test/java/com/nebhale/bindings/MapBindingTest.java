@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -45,9 +46,33 @@ final class MapBindingTest {
         assertThat(b.getAsBytes("test-secret-key")).isEqualTo("test-secret-value\n".getBytes(StandardCharsets.UTF_8));
     }
 
+    @Test
+    void getKeys() {
+        MapBinding b = new MapBinding("test-name", new FluentMap()
+            .withEntry("test-secret-key", "test-secret-value")
+            .withEntry("test^invalid^key", "test-secret-value")
+            .asBytes());
+
+        assertThat(b.getKeys()).containsExactly("test-secret-key");
+    }
+
     @Test
     void getName() {
         MapBinding b = new MapBinding("test-name", Collections.emptyMap());
         assertThat(b.getName()).isEqualTo("test-name");
     }
+
+    @Test
+    void getAsBytesAsync() {
+        MapBinding b = new MapBinding("test-name", new FluentMap()
+            .withEntry("test-secret-key", "test-secret-value")
+            .asBytes());
+
+        CompletableFuture<byte[]> value = b.getAsBytesAsync("test-secret-key", task -> {
+            throw new AssertionError("executor must not be used");
+        });
+
+        assertThat(value).isCompleted();
+        assertThat(value.join()).isEqualTo("test-secret-value".getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class OffHeapCacheBindingTest {
+    @Test
+    void missing() {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+
+        assertThat(b.get("test-unknown-key")).isNull();
+        assertThat(b.getAsByteBuffer("test-unknown-key")).isNull();
+        assertThat(b.read("test-unknown-key", ByteBuffer.allocate(16))).isEqualTo(-1);
+        assertThat(s.readCount).isEqualTo(3);
+    }
+
+    @Test
+    void cached() {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+
+        assertThat(b.get("test-small-key")).isEqualTo("test-small-value");
+        assertThat(b.getAsBytes("test-small-key")).isEqualTo(s.small);
+        assertThat(s.readCount).isEqualTo(1);
+        assertThat(b.getFootprint()).isEqualTo(s.small.length);
+    }
+
+    @Test
+    void large() {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+
+        assertThat(b.getAsBytes("test-large-key")).isEqualTo(s.large);
+        assertThat(b.getFootprint()).isEqualTo(s.large.length);
+    }
+
+    @Test
+    void getAsByteBuffer() {
+        OffHeapCacheBinding b = new OffHeapCacheBinding(new StubBinding());
+
+        ByteBuffer value = b.getAsByteBuffer("test-small-key");
+
+        assertThat(value).isNotNull();
+        assertThat(value.isDirect()).isTrue();
+        assertThat(value.isReadOnly()).isTrue();
+        assertThat(StandardCharsets.UTF_8.decode(value).toString()).isEqualTo("test-small-value");
+        assertThatThrownBy(() -> value.put(0, (byte) 0)).isInstanceOf(ReadOnlyBufferException.class);
+        assertThat(b.getAsByteBuffer("test-small-key").remaining()).isEqualTo(16);
+    }
+
+    @Test
+    void getAsBytesAsync() {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+        Executor unused = task -> {
+            throw new AssertionError("executor must not be used");
+        };
+
+        assertThat(b.getAsBytesAsync("test-small-key", Runnable::run).join()).isEqualTo(s.small);
+
+        CompletableFuture<byte[]> cached = b.getAsBytesAsync("test-small-key", unused);
+        assertThat(cached).isCompleted();
+        assertThat(cached.join()).isEqualTo(s.small);
+        assertThat(s.readCount).isEqualTo(1);
+    }
+
+    @Test
+    void read() {
+        OffHeapCacheBinding b = new OffHeapCacheBinding(new StubBinding());
+        ByteBuffer dst = ByteBuffer.allocateDirect(32);
+
+        assertThat(b.read("test-small-key", dst)).isEqualTo(16);
+        assertThat(StandardCharsets.UTF_8.decode(dst.flip()).toString()).isEqualTo("test-small-value");
+    }
+
+    @Test
+    void invalidate() {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+
+        ByteBuffer value = b.getAsByteBuffer("test-small-key");
+        b.invalidate();
+
+        assertThat(value).isNotNull();
+        assertThat(value.get(0)).isZero();
+        assertThat(value.get(15)).isZero();
+        assertThat(b.getFootprint()).isZero();
+        assertThat(b.get("test-small-key")).isEqualTo("test-small-value");
+        assertThat(s.readCount).isEqualTo(2);
+    }
+
+    @Test
+    void close() {
+        OffHeapCacheBinding b = new OffHeapCacheBinding(new StubBinding());
+
+        ByteBuffer value = b.getAsByteBuffer("test-large-key");
+        b.close();
+
+        assertThat(value).isNotNull();
+        assertThat(value.get(0)).isZero();
+        assertThat(value.get(value.limit() - 1)).isZero();
+        assertThat(b.getFootprint()).isZero();
+        assertThatIllegalStateException().isThrownBy(() -> b.get("test-small-key"));
+    }
+
+    @Test
+    void concurrentInvalidate() throws InterruptedException {
+        StubBinding s = new StubBinding();
+        OffHeapCacheBinding b = new OffHeapCacheBinding(s);
+        ByteBuffer expected = ByteBuffer.wrap(s.large);
+        AtomicInteger failures = new AtomicInteger();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                ByteBuffer dst = ByteBuffer.allocateDirect(s.large.length);
+
+                for (int j = 0; j < 10_000; j++) {
+                    if (!expected.equals(ByteBuffer.wrap(b.getAsBytes("test-large-key")))) {
+                        failures.incrementAndGet();
+                    }
+
+                    b.read("test-large-key", dst.clear());
+                    if (!expected.equals(dst.flip())) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        while (readers.stream().anyMatch(Thread::isAlive)) {
+            b.invalidate();
+        }
+
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertThat(failures).hasValue(0);
+    }
+
+    @Test
+    void getKeys() {
+        OffHeapCacheBinding b = new OffHeapCacheBinding(new MapBinding("test-name", new FluentMap()
+            .withEntry("test-secret-key", "test-secret-value")
+            .asBytes()));
+
+        assertThat(b.getName()).isEqualTo("test-name");
+        assertThat(b.getKeys()).containsExactly("test-secret-key");
+        assertThat(b.get("test-secret-key")).isEqualTo("test-secret-value");
+    }
+
+    private static final class StubBinding implements Binding {
+
+        private final byte[] small = "test-small-value".getBytes(StandardCharsets.UTF_8);
+
+        private final byte[] large = "test-large-value ".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        private int readCount = 0;
+
+        @Override
+        public int read(@NotNull String key, @NotNull ByteBuffer dst) {
+            readCount++;
+            return Binding.super.read(key, dst);
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            switch (key) {
+                case "test-small-key":
+                    return small;
+                case "test-large-key":
+                    return large;
+                default:
+                    return null;
+            }
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "test-name";
+        }
+
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class PrefetchedBindingTest {
+    @Test
+    void valid() {
+        PrefetchedBinding b = new PrefetchedBinding(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("provider", "test-provider")
+            .withEntry("test-secret-key", "test-secret-value")
+            .asBytes()));
+
+        assertThat(b.getName()).isEqualTo("test-name");
+        assertThat(b.getType()).isEqualTo("test-type");
+        assertThat(b.getProvider()).isEqualTo("test-provider");
+        assertThat(b.get("test-secret-key")).isEqualTo("test-secret-value");
+        assertThat(b.getAsCharSequence("type")).isSameAs(b.getType());
+        assertThat(b.contentEqualsIgnoreCase("provider", "TEST-PROVIDER")).isTrue();
+        assertThat(b.contentEquals("test-secret-key", "test-secret-value")).isTrue();
+    }
+
+    @Test
+    void missing() {
+        PrefetchedBinding b = new PrefetchedBinding(new MapBinding("test-name", Collections.emptyMap()));
+
+        assertThat(b.getProvider()).isNull();
+        assertThat(b.contentEqualsIgnoreCase("provider", "test-provider")).isFalse();
+        assertThatIllegalStateException().isThrownBy(b::getType);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class PreloadedBindingsTest {
+    @Test
+    void valid() {
+        PreloadedBindings b = Bindings.preload(Paths.get("src/test/resources"));
+
+        assertThat(b.getBindings()).hasSize(3);
+        assertThat(b.find("test-k8s")).isNotNull();
+        assertThat(b.filter("test-type-1", "test-provider-1")).hasSize(2);
+
+        b.whenLoaded().join();
+        assertThat(b.isLoaded()).isTrue();
+    }
+
+    @Test
+    void loaded(@TempDir Path root) throws Exception {
+        Path binding = Files.createDirectory(root.resolve("test-name"));
+        Files.write(binding.resolve("type"), "test-type".getBytes(StandardCharsets.UTF_8));
+        Files.write(binding.resolve("test-secret-key"), "test-secret-value".getBytes(StandardCharsets.UTF_8));
+
+        PreloadedBindings b = Bindings.preload(root);
+        b.whenLoaded().join();
+
+        Files.delete(binding.resolve("test-secret-key"));
+
+        assertThat(b.find("test-name").get("test-secret-key")).isEqualTo("test-secret-value");
+    }
+
+    @Test
+    void profile(@TempDir Path root) throws Exception {
+        Path binding = Files.createDirectory(root.resolve("test-name"));
+        Files.write(binding.resolve("type"), "test-type".getBytes(StandardCharsets.UTF_8));
+        Files.write(binding.resolve("test-secret-key"), "test-secret-value".getBytes(StandardCharsets.UTF_8));
+        AccessProfile profile = new AccessProfile(Map.of("test-name", Set.of("test-secret-key")));
+
+        PreloadedBindings b = Bindings.preload(root, profile);
+        b.whenLoaded().join();
+
+        Files.delete(binding.resolve("type"));
+        Files.delete(binding.resolve("test-secret-key"));
+
+        assertThat(b.find("test-name").get("test-secret-key")).isEqualTo("test-secret-value");
+        assertThat(b.find("test-name").get("type")).isNull();
+    }
+
+    @Test
+    void pending() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        PreloadedBindings b = Bindings.preload(Paths.get("src/test/resources"), tasks::add);
+        assertThat(b.isLoaded()).isFalse();
+
+        while (!tasks.isEmpty()) {
+            tasks.remove().run();
+        }
+
+        assertThat(b.isLoaded()).isTrue();
+        assertThat(b.getBindings()).hasSize(3);
+    }
+
+    @Test
+    void failed(@TempDir Path root) throws Exception {
+        Path binding = Files.createDirectory(root.resolve("test-name"));
+        Files.write(binding.resolve("type"), "test-type".getBytes(StandardCharsets.UTF_8));
+
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        PreloadedBindings b = Bindings.preload(root, tasks::add);
+
+        tasks.remove().run();
+        Files.delete(binding.resolve("type"));
+        Files.delete(binding);
+        while (!tasks.isEmpty()) {
+            tasks.remove().run();
+        }
+
+        assertThat(b.getBindings()).hasSize(1);
+        assertThat(b.isLoaded()).isFalse();
+        assertThat(b.whenLoaded()).isCompletedExceptionally();
+    }
+}
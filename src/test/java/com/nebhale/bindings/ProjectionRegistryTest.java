@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class ProjectionRegistryTest {
+    @Test
+    void connectionDetails() {
+        ProjectionRegistry<ConnectionDetails> r = ProjectionRegistry.connectionDetails();
+
+        ConnectionDetails d = r.project(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "PostgreSQL")
+            .withEntry("host", "test-host")
+            .asBytes()));
+
+        assertThat(d.getAddresses()).containsExactly(new ConnectionDetails.Address("test-host", 5432));
+    }
+
+    @Test
+    void withAdapter() {
+        ProjectionRegistry<String> r = ProjectionRegistry.<String>empty()
+            .withAdapter("test-type", b -> b.get("test-key"));
+
+        assertThat(r.project(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-key", "test-value")
+            .asBytes()))).isEqualTo("test-value");
+    }
+
+    @Test
+    void replaceAdapter() {
+        ProjectionRegistry<String> r = ProjectionRegistry.<String>empty()
+            .withAdapter("test-type", b -> "test-first")
+            .withAdapter("TEST-TYPE", b -> "test-second");
+
+        assertThat(r.project(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .asBytes()))).isEqualTo("test-second");
+    }
+
+    @Test
+    void supports() {
+        ProjectionRegistry<ConnectionDetails> r = ProjectionRegistry.connectionDetails();
+
+        assertThat(r.supports(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "redis")
+            .asBytes()))).isTrue();
+        assertThat(r.supports(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .asBytes()))).isFalse();
+        assertThat(r.supports(new MapBinding("test-name", new FluentMap().asBytes()))).isFalse();
+    }
+
+    @Test
+    void unsupported() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> ProjectionRegistry.connectionDetails().project(new MapBinding("test-name",
+                new FluentMap()
+                    .withEntry("type", "test-type")
+                    .asBytes())))
+            .withMessage("no adapter for binding type 'test-type'");
+    }
+
+    @Test
+    void nullValue() {
+        ProjectionRegistry<String> r = ProjectionRegistry.<String>empty().withAdapter("test-type", b -> null);
+
+        assertThatIllegalStateException()
+            .isThrownBy(() -> r.project(new MapBinding("test-name", new FluentMap()
+                .withEntry("type", "test-type")
+                .asBytes())));
+    }
+
+    @Test
+    void provider() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("type", "redis")
+            .withEntry("host", "test-host")
+            .withEntry("password", "test-password")
+            .asBytes();
+        Supplier<ConnectionDetails> p = ProjectionRegistry.connectionDetails()
+            .provider(new MapBinding("test-name", content));
+
+        ConnectionDetails before = p.get();
+        assertThat(p.get()).isSameAs(before);
+
+        content.put("password", "test-other-password".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(p.get()).isNotSameAs(before);
+        assertThat(p.get().getPassword()).isEqualTo("test-other-password");
+    }
+
+    @Test
+    void providerShared() {
+        AtomicInteger count = new AtomicInteger();
+        ProjectionRegistry<String> r = ProjectionRegistry.<String>empty()
+            .withAdapter("test-type", b -> String.format("test-value-%d", count.incrementAndGet()));
+        MapBinding binding = new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .asBytes());
+
+        Supplier<String> first = r.provider(binding);
+        Supplier<String> second = r.provider(binding);
+
+        assertThat(first.get()).isEqualTo("test-value-1");
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    void providerEqualBindings() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-key", "test-value-1")
+            .asBytes();
+        ProjectionRegistry<String> r = ProjectionRegistry.<String>empty()
+            .withAdapter("test-type", b -> b.get("test-key"));
+
+        Supplier<String> first = r.provider(new MapBinding("test-name", content));
+        Supplier<String> second = r.provider(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-key", "test-value-1")
+            .asBytes()));
+
+        assertThat(first.get()).isEqualTo("test-value-1");
+        content.put("test-key", "test-value-2".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(first.get()).isEqualTo("test-value-2");
+        assertThat(second.get()).isEqualTo("test-value-1");
+    }
+
+    @Test
+    void providerTypeChanged() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("type", "redis")
+            .withEntry("host", "test-host")
+            .asBytes();
+        Supplier<ConnectionDetails> p = ProjectionRegistry.connectionDetails()
+            .provider(new MapBinding("test-name", content));
+
+        assertThat(p.get().getAddresses().get(0).getPort()).isEqualTo(6379);
+
+        content.put("type", "mysql".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(p.get().getAddresses().get(0).getPort()).isEqualTo(3306);
+    }
+}
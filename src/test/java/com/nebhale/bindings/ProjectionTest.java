@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ProjectionTest {
+    @Test
+    void created() {
+        AtomicInteger count = new AtomicInteger();
+        Projection<String> p = new Projection<>(new CacheBinding(new MapBinding("test-name", new FluentMap()
+            .withEntry("test-key", "test-value")
+            .asBytes())), b -> {
+            count.incrementAndGet();
+            return b.get("test-key");
+        });
+
+        assertThat(p.get()).isEqualTo("test-value");
+        assertThat(p.get()).isEqualTo("test-value");
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    void equalContent() {
+        AtomicInteger count = new AtomicInteger();
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("test-key", "test-value")
+            .asBytes();
+        Projection<String> p = new Projection<>(new MapBinding("test-name", content), b -> {
+            count.incrementAndGet();
+            return b.get("test-key");
+        });
+
+        p.get();
+        content.put("test-key", "test-value".getBytes(StandardCharsets.UTF_8));
+        p.get();
+
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    void changed() {
+        AtomicInteger count = new AtomicInteger();
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("test-key", "test-value")
+            .asBytes();
+        Projection<String> p = new Projection<>(new MapBinding("test-name", content), b -> {
+            count.incrementAndGet();
+            return b.get("test-key");
+        });
+
+        assertThat(p.get()).isEqualTo("test-value");
+        content.put("test-key", "test-other-value".getBytes(StandardCharsets.UTF_8));
+        assertThat(p.get()).isEqualTo("test-other-value");
+        assertThat(count).hasValue(2);
+    }
+
+    @Test
+    void added() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("test-key", "test-value")
+            .asBytes();
+        Projection<String> p = new Projection<>(new MapBinding("test-name", content), b -> b.get("test-missing-key"));
+
+        assertThat(p.get()).isNull();
+        content.put("test-missing-key", "test-value".getBytes(StandardCharsets.UTF_8));
+        assertThat(p.get()).isEqualTo("test-value");
+    }
+
+    @Test
+    void versioned() {
+        StubBinding s = new StubBinding();
+        Projection<String> p = new Projection<>(s, b -> b.get("test-key"));
+
+        assertThat(p.get()).isEqualTo("test-value");
+        assertThat(p.get()).isEqualTo("test-value");
+        assertThat(s.getAsBytesCount).isEqualTo(1);
+
+        s.content.put("test-key", "test-other-value".getBytes(StandardCharsets.UTF_8));
+        assertThat(p.get()).isEqualTo("test-value");
+
+        s.version++;
+        assertThat(p.get()).isEqualTo("test-other-value");
+        assertThat(s.getAsBytesCount).isEqualTo(2);
+    }
+
+    private static final class StubBinding implements VersionedBinding {
+
+        private final Map<String, byte[]> content = new FluentMap()
+            .withEntry("test-key", "test-value")
+            .asBytes();
+
+        private int getAsBytesCount = 0;
+
+        private long version = 0;
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            getAsBytesCount++;
+            return content.get(key);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "test-name";
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class RecordMapperTest {
+    @Test
+    void valid() {
+        Database d = RecordMapper.of(Database.class).map(new MapBinding("test-name", new FluentMap()
+            .withEntry("host", "test-host\n")
+            .withEntry("port", "5432")
+            .withEntry("max-connections", "10")
+            .withEntry("timeout", "1.5")
+            .withEntry("ssl-enabled", "TRUE")
+            .withEntry("uri", "postgresql://test-host")
+            .withEntry("tls.crt", "test-certificate")
+            .asBytes()));
+
+        assertThat(d.host()).isEqualTo("test-host");
+        assertThat(d.port()).isEqualTo(5432);
+        assertThat(d.maxConnections()).isEqualTo(10L);
+        assertThat(d.timeout()).isEqualTo(1.5);
+        assertThat(d.sslEnabled()).isTrue();
+        assertThat(d.uri()).isEqualTo(URI.create("postgresql://test-host"));
+        assertThat(d.certificate()).isEqualTo("test-certificate".getBytes(StandardCharsets.UTF_8));
+        assertThat(d.username()).isNull();
+    }
+
+    @Test
+    void cached() {
+        assertThat(RecordMapper.of(Database.class)).isSameAs(RecordMapper.of(Database.class));
+    }
+
+    @Test
+    void missingPrimitive() {
+        assertThatIllegalStateException().isThrownBy(() ->
+            RecordMapper.of(Database.class).map(new MapBinding("test-name", Collections.emptyMap())));
+    }
+
+    @Test
+    void invalidValue() {
+        assertThatIllegalStateException().isThrownBy(() ->
+            RecordMapper.of(Database.class).map(new MapBinding("test-name", new FluentMap()
+                .withEntry("port", "test-invalid")
+                .withEntry("ssl-enabled", "true")
+                .asBytes())));
+    }
+
+    @Test
+    void invalidBoolean() {
+        assertThatIllegalStateException().isThrownBy(() ->
+            RecordMapper.of(Database.class).map(new MapBinding("test-name", new FluentMap()
+                .withEntry("port", "5432")
+                .withEntry("ssl-enabled", "test-invalid")
+                .asBytes())));
+    }
+
+    @Test
+    void unsupportedType() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RecordMapper.of(Unsupported.class));
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    void notRecord() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RecordMapper.of((Class) String.class));
+    }
+
+    private record Database(String host, int port, String username, Long maxConnections, Double timeout,
+                            boolean sslEnabled, URI uri, @BindingKey("tls.crt") byte[] certificate) {
+    }
+
+    private record Unsupported(Object value) {
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class RefreshableBindingTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void getAsBytesAsync() {
+        RefreshableBinding b = new RefreshableBinding(Paths.get("src/test/resources/test-k8s"));
+        Executor unused = task -> {
+            throw new AssertionError("executor must not be used");
+        };
+
+        assertThat(b.getAsBytesAsync("test-secret-key", Runnable::run).join()).isNotNull();
+
+        CompletableFuture<byte[]> cached = b.getAsBytesAsync("test-secret-key", unused);
+        assertThat(cached).isCompleted();
+        assertThat(cached.join()).isEqualTo("test-secret-value".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void valid() {
+        RefreshableBinding b = new RefreshableBinding(Paths.get("src/test/resources/test-k8s"));
+
+        assertThat(b.getName()).isEqualTo("test-k8s");
+        assertThat(b.getKeys()).containsExactly("provider", "test-secret-key", "type");
+        assertThat(b.get("test-secret-key")).isEqualTo("test-secret-value");
+        assertThat(b.getAsBytes("test-missing-key")).isNull();
+        assertThat(b.getAsBytes(".hidden-data")).isNull();
+        assertThat(b.getAsBytes("test^invalid^key")).isNull();
+    }
+
+    @Test
+    void unchanged() throws IOException {
+        write("test-key-1", "test-value-1", 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        byte[] value = b.getAsBytes("test-key-1");
+
+        assertThat(b.refresh()).isEmpty();
+        assertThat(b.getAsBytes("test-key-1")).isSameAs(value);
+        assertThat(b.getGeneration()).isZero();
+    }
+
+    @Test
+    void changed() throws IOException {
+        write("test-key-1", "test-value-1", 1);
+        write("test-key-2", "test-value-2", 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        byte[] value = b.getAsBytes("test-key-1");
+        b.getAsBytes("test-key-2");
+
+        write("test-key-2", "test-value-3", 2);
+
+        assertThat(b.refresh()).containsExactly("test-key-2");
+        assertThat(b.getAsBytes("test-key-1")).isSameAs(value);
+        assertThat(b.get("test-key-2")).isEqualTo("test-value-3");
+        assertThat(b.getGeneration()).isEqualTo(1);
+    }
+
+    @Test
+    void rewritten() throws IOException {
+        write("test-key-1", "test-value-1", 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        byte[] value = b.getAsBytes("test-key-1");
+
+        write("test-key-1", "test-value-1", 2);
+
+        assertThat(b.refresh()).isEmpty();
+        assertThat(b.getAsBytes("test-key-1")).isSameAs(value);
+    }
+
+    @Test
+    void removed() throws IOException {
+        write("test-key-1", "test-value-1", 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        b.getAsBytes("test-key-1");
+
+        Files.delete(root.resolve("test-key-1"));
+
+        assertThat(b.refresh()).containsExactly("test-key-1");
+        assertThat(b.getAsBytes("test-key-1")).isNull();
+    }
+
+    @Test
+    void created() throws IOException {
+        RefreshableBinding b = new RefreshableBinding(root);
+        assertThat(b.getAsBytes("test-key-1")).isNull();
+
+        write("test-key-1", "test-value-1", 1);
+
+        assertThat(b.getAsBytes("test-key-1")).isNull();
+        assertThat(b.refresh()).containsExactly("test-key-1");
+        assertThat(b.get("test-key-1")).isEqualTo("test-value-1");
+        assertThat(b.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void dataLink() throws IOException {
+        Path first = Files.createDirectory(root.resolve("..2021_01_01"));
+        Files.write(first.resolve("test-key-1"), "test-value-1".getBytes(StandardCharsets.UTF_8));
+        Files.write(first.resolve("test-key-2"), "test-value-2".getBytes(StandardCharsets.UTF_8));
+        Files.createSymbolicLink(root.resolve("..data"), first.getFileName());
+        Files.createSymbolicLink(root.resolve("test-key-1"), Paths.get("..data", "test-key-1"));
+        Files.createSymbolicLink(root.resolve("test-key-2"), Paths.get("..data", "test-key-2"));
+
+        RefreshableBinding b = new RefreshableBinding(root);
+        byte[] value = b.getAsBytes("test-key-1");
+        b.getAsBytes("test-key-2");
+
+        Path second = Files.createDirectory(root.resolve("..2021_01_02"));
+        Files.write(second.resolve("test-key-1"), "test-value-1".getBytes(StandardCharsets.UTF_8));
+        Files.write(second.resolve("test-key-2"), "test-value-3".getBytes(StandardCharsets.UTF_8));
+        Files.createSymbolicLink(root.resolve("..data_tmp"), second.getFileName());
+        Files.move(root.resolve("..data_tmp"), root.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+
+        assertThat(b.refresh()).containsExactly("test-key-2");
+        assertThat(b.getAsBytes("test-key-1")).isSameAs(value);
+        assertThat(b.get("test-key-2")).isEqualTo("test-value-3");
+        assertThat(b.getKeys()).containsExactly("test-key-1", "test-key-2");
+    }
+
+    @Test
+    void lastAccess() throws Exception {
+        write("test-key-1", "test-value-1", 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        long created = b.getLastAccess();
+
+        Thread.sleep(5);
+        b.getAsBytes("test-key-1");
+
+        assertThat(b.getLastAccess()).isGreaterThan(created);
+    }
+
+    private void write(String key, String value, long modified) throws IOException {
+        Path file = root.resolve(key);
+        Files.write(file, value.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified * 1000));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+final class ReloadSchedulerTest {
+    @TempDir
+    Path root;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    @Test
+    void refreshed() throws IOException {
+        RefreshableBinding b = binding("test-name");
+        b.getAsBytes("test-key");
+        write("test-name", "test-other-value", 2);
+
+        CompletableFuture<Set<String>> f = new ReloadScheduler(1, tasks::add).schedule(b);
+        run();
+
+        assertThat(f.join()).containsExactly("test-key");
+        assertThat(b.get("test-key")).isEqualTo("test-other-value");
+    }
+
+    @Test
+    void deduplicated() throws IOException {
+        ReloadScheduler s = new ReloadScheduler(1, tasks::add);
+        s.schedule(binding("test-name-1"));
+
+        RefreshableBinding b = binding("test-name-2");
+        CompletableFuture<Set<String>> first = s.schedule(b);
+        CompletableFuture<Set<String>> second = s.schedule(b);
+
+        assertThat(s.getWaiting()).isEqualTo(1);
+        run();
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void equalInstances() throws IOException {
+        ReloadScheduler s = new ReloadScheduler(1, tasks::add);
+        s.schedule(binding("test-name-1"));
+
+        RefreshableBinding first = binding("test-name-2");
+        RefreshableBinding second = new RefreshableBinding(root.resolve("test-name-2"));
+        first.getAsBytes("test-key");
+        second.getAsBytes("test-key");
+        write("test-name-2", "test-other-value", 2);
+
+        CompletableFuture<Set<String>> f = s.schedule(first);
+        CompletableFuture<Set<String>> g = s.schedule(second);
+
+        assertThat(s.getWaiting()).isEqualTo(2);
+        run();
+        assertThat(f.join()).containsExactly("test-key");
+        assertThat(g.join()).containsExactly("test-key");
+        assertThat(first.get("test-key")).isEqualTo("test-other-value");
+        assertThat(second.get("test-key")).isEqualTo("test-other-value");
+    }
+
+    @Test
+    void scheduledWhileRunning() throws IOException {
+        ReloadScheduler s = new ReloadScheduler(1, tasks::add);
+        RefreshableBinding b = binding("test-name");
+
+        s.schedule(b);
+        s.schedule(b);
+
+        assertThat(s.getRunning()).isEqualTo(1);
+        assertThat(s.getWaiting()).isEqualTo(1);
+    }
+
+    @Test
+    void bounded() throws IOException {
+        ReloadScheduler s = new ReloadScheduler(2, tasks::add);
+
+        for (int i = 0; i < 5; i++) {
+            s.schedule(binding("test-name-" + i));
+        }
+
+        assertThat(tasks).hasSize(2);
+        assertThat(s.getRunning()).isEqualTo(2);
+        assertThat(s.getWaiting()).isEqualTo(3);
+
+        tasks.remove().run();
+
+        assertThat(tasks).hasSize(2);
+        assertThat(s.getWaiting()).isEqualTo(2);
+
+        run();
+
+        assertThat(s.getRunning()).isZero();
+        assertThat(s.getWaiting()).isZero();
+    }
+
+    @Test
+    void prioritized() throws Exception {
+        ReloadScheduler s = new ReloadScheduler(1, tasks::add);
+        s.schedule(binding("test-name-1"));
+
+        RefreshableBinding idle = binding("test-name-2");
+        RefreshableBinding active = binding("test-name-3");
+        idle.getAsBytes("test-key");
+        Thread.sleep(5);
+        active.getAsBytes("test-key");
+
+        CompletableFuture<Set<String>> i = s.schedule(idle);
+        CompletableFuture<Set<String>> a = s.schedule(active);
+
+        tasks.remove().run();
+        tasks.remove().run();
+
+        assertThat(a).isCompleted();
+        assertThat(i).isNotCompleted();
+    }
+
+    @Test
+    void rejected() throws IOException {
+        ReloadScheduler s = new ReloadScheduler(1, r -> {
+            throw new RejectedExecutionException();
+        });
+
+        assertThat(s.schedule(binding("test-name"))).isCompletedExceptionally();
+        assertThat(s.getRunning()).isZero();
+    }
+
+    @Test
+    void invalid() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ReloadScheduler(0, tasks::add));
+    }
+
+    private RefreshableBinding binding(String name) throws IOException {
+        Files.createDirectory(root.resolve(name));
+        write(name, "test-value", 1);
+        return new RefreshableBinding(root.resolve(name));
+    }
+
+    private void run() {
+        while (!tasks.isEmpty()) {
+            tasks.remove().run();
+        }
+    }
+
+    private void write(String name, String value, long modified) throws IOException {
+        Path file = root.resolve(name).resolve("test-key");
+        Files.write(file, value.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified * 1000));
+    }
+}
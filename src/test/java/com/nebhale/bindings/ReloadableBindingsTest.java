@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class ReloadableBindingsTest {
+    @Test
+    void initial() {
+        AtomicInteger count = new AtomicInteger();
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(count.incrementAndGet()));
+
+        assertThat(b.getBindings()).hasSize(1);
+        assertThat(b.getGeneration()).isEqualTo(1);
+        assertThat(count).hasValue(1);
+    }
+
+    @Test
+    void reload() {
+        AtomicInteger count = new AtomicInteger();
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(count.incrementAndGet()));
+
+        assertThat(b.reload()).hasSize(2);
+        assertThat(b.getBindings()).hasSize(2);
+        assertThat(b.getGeneration()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadAsync() {
+        AtomicInteger count = new AtomicInteger();
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(count.incrementAndGet()));
+
+        assertThat(b.reloadAsync(Runnable::run).join()).hasSize(2);
+        assertThat(b.getGeneration()).isEqualTo(2);
+    }
+
+    @Test
+    void outOfOrder() {
+        AtomicInteger count = new AtomicInteger();
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(count.incrementAndGet()));
+
+        CompletableFuture<Runnable> older = new CompletableFuture<>();
+        CompletableFuture<Binding[]> olderResult = b.reloadAsync(older::complete);
+        b.reload();
+        older.join().run();
+
+        assertThat(olderResult.join()).hasSize(2);
+        assertThat(b.getBindings()).hasSize(2);
+        assertThat(b.getGeneration()).isEqualTo(3);
+    }
+
+    @Test
+    void copy() {
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(1));
+
+        b.getBindings()[0] = null;
+
+        assertThat(b.getBindings()[0]).isNotNull();
+    }
+
+    @Test
+    void findAndFilter() {
+        ReloadableBindings b = new ReloadableBindings(() -> bindings(2));
+
+        assertThat(b.find("test-name-2")).isNotNull();
+        assertThat(b.filter("test-type", null)).hasSize(2);
+    }
+
+    @Test
+    void nullLoader() {
+        assertThatIllegalStateException().isThrownBy(() -> new ReloadableBindings(() -> null));
+    }
+
+    @Test
+    void from() {
+        assertThat(ReloadableBindings.from(Paths.get("src/test/resources")).getBindings()).hasSize(3);
+    }
+
+    private static Binding[] bindings(int count) {
+        Binding[] bindings = new Binding[count];
+
+        for (int i = 0; i < count; i++) {
+            bindings[i] = new MapBinding(String.format("test-name-%d", i + 1), new FluentMap()
+                .withEntry("type", "test-type")
+                .asBytes());
+        }
+
+        return bindings;
+    }
+}
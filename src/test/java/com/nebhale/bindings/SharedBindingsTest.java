@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.attribute.PosixFilePermission.GROUP_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+final class SharedBindingsTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void unpublished() {
+        SharedBindings s = SharedBindings.open(root);
+
+        assertThat(s.getVersion()).isZero();
+        assertThat(s.getBindings()).isEmpty();
+    }
+
+    @Test
+    void published() {
+        SharedBindings s = SharedBindings.open(root);
+
+        assertThat(SharedBindings.publish(bindings("test-value-1"), root)).isEqualTo(1);
+
+        assertThat(s.getVersion()).isEqualTo(1);
+        assertThat(s.getBindings()[0].get("test-key")).isEqualTo("test-value-1");
+    }
+
+    @Test
+    void updated() {
+        SharedBindings first = SharedBindings.open(root);
+        SharedBindings second = SharedBindings.open(root);
+
+        SharedBindings.publish(bindings("test-value-1"), root);
+        assertThat(first.getBindings()[0].get("test-key")).isEqualTo("test-value-1");
+        assertThat(second.getBindings()[0].get("test-key")).isEqualTo("test-value-1");
+
+        SharedBindings.publish(bindings("test-value-2"), root);
+        assertThat(first.getVersion()).isEqualTo(2);
+        assertThat(first.getBindings()[0].get("test-key")).isEqualTo("test-value-2");
+        assertThat(second.getBindings()[0].get("test-key")).isEqualTo("test-value-2");
+    }
+
+    @Test
+    void removesOldSnapshots() {
+        SharedBindings.publish(bindings("test-value-1"), root);
+        SharedBindings.publish(bindings("test-value-2"), root);
+        SharedBindings.publish(bindings("test-value-3"), root);
+
+        assertThat(Files.exists(root.resolve("snapshot-1"))).isFalse();
+        assertThat(Files.exists(root.resolve("snapshot-2"))).isTrue();
+        assertThat(Files.exists(root.resolve("snapshot-3"))).isTrue();
+    }
+
+    @Test
+    void removesTemporaryFiles() throws Exception {
+        Files.createFile(root.resolve("snapshot-1123456789.tmp"));
+
+        SharedBindings.publish(bindings("test-value-1"), root);
+
+        assertThat(Files.exists(root.resolve("snapshot-1123456789.tmp"))).isFalse();
+        assertThat(Files.exists(root.resolve("snapshot-1"))).isTrue();
+    }
+
+    @Test
+    void groupReadable() throws Exception {
+        assumeTrue(root.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+        SharedBindings.publish(bindings("test-value-1"), root);
+
+        assertThat(Files.getPosixFilePermissions(root.resolve("snapshot-1")))
+            .containsExactlyInAnyOrder(OWNER_READ, OWNER_WRITE, GROUP_READ);
+    }
+
+    @Test
+    void heldSnapshot() {
+        SharedBindings s = SharedBindings.open(root);
+        SharedBindings.publish(bindings("test-value-1"), root);
+        Binding held = s.getBindings()[0];
+
+        SharedBindings.publish(bindings("test-value-2"), root);
+        SharedBindings.publish(bindings("test-value-3"), root);
+
+        assertThat(held.get("test-key")).isEqualTo("test-value-1");
+        assertThat(s.getBindings()[0].get("test-key")).isEqualTo("test-value-3");
+    }
+
+    @Test
+    void crossProcess() throws Exception {
+        SharedBindings.publish(bindings("test-value-1"), root);
+
+        Process process = new ProcessBuilder(
+            ProcessHandle.current().info().command().orElseThrow(),
+            "-cp", System.getProperty("java.class.path"),
+            Reader.class.getName(), root.toString())
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+
+        try (OutputStream in = process.getOutputStream();
+             BufferedReader out = new BufferedReader(
+                 new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+
+            in.write('\n');
+            in.flush();
+            assertThat(out.readLine()).isEqualTo("1 test-value-1");
+
+            SharedBindings.publish(bindings("test-value-2"), root);
+
+            in.write('\n');
+            in.flush();
+            assertThat(out.readLine()).isEqualTo("2 test-value-2");
+        } finally {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+
+        assertThat(process.exitValue()).isZero();
+    }
+
+    private static Binding[] bindings(String value) {
+        return new Binding[]{
+            new MapBinding("test-name", new FluentMap()
+                .withEntry("test-key", value)
+                .asBytes())
+        };
+    }
+
+    /**
+     * Opens the {@link SharedBindings} in the directory given as the first argument, and prints its version and the
+     * value of {@code test-key} each time a line is read from standard input.
+     */
+    static final class Reader {
+
+        public static void main(String[] args) throws Exception {
+            SharedBindings s = SharedBindings.open(Paths.get(args[0]));
+
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            while (in.readLine() != null) {
+                System.out.printf("%d %s%n", s.getVersion(), s.getBindings()[0].get("test-key"));
+                System.out.flush();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class SslContextProviderTest {
+    @Test
+    void keyAndTrust() throws Exception {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("tls.crt", PemFixtures.CERTIFICATE)
+            .withEntry("tls.key", PemFixtures.EC_PRIVATE_KEY)
+            .withEntry("ca.crt", PemFixtures.CA_CERTIFICATE)
+            .asBytes()));
+
+        assertThat(p.getKeyStore()).isNotNull();
+        assertThat(Collections.list(p.getKeyStore().aliases())).containsExactly("binding");
+        assertThat(p.getTrustStore()).isNotNull();
+        assertThat(Collections.list(p.getTrustStore().aliases())).containsExactly("ca-0");
+        assertThat(p.getSslContext().createSSLEngine()).isNotNull();
+    }
+
+    @Test
+    void trustOnly() {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("ca.crt", PemFixtures.CA_CERTIFICATE)
+            .asBytes()));
+
+        assertThat(p.getKeyStore()).isNull();
+        assertThat(p.getTrustStore()).isNotNull();
+    }
+
+    @Test
+    void empty() {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", Collections.emptyMap()));
+
+        assertThat(p.getKeyStore()).isNull();
+        assertThat(p.getTrustStore()).isNull();
+        assertThat(p.getSslContext()).isNotNull();
+    }
+
+    @Test
+    void cached() {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("tls.crt", PemFixtures.CERTIFICATE)
+            .withEntry("tls.key", PemFixtures.PKCS8_PRIVATE_KEY)
+            .asBytes()));
+
+        assertThat(p.getSslContext()).isSameAs(p.getSslContext());
+    }
+
+    @Test
+    void rotated() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("tls.crt", PemFixtures.CERTIFICATE)
+            .withEntry("tls.key", PemFixtures.PKCS8_PRIVATE_KEY)
+            .asBytes();
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", content));
+        Object before = p.getSslContext();
+
+        content.putAll(new FluentMap()
+            .withEntry("ca.crt", PemFixtures.CA_CERTIFICATE)
+            .asBytes());
+
+        assertThat(p.getSslContext()).isNotSameAs(before);
+        assertThat(p.getTrustStore()).isNotNull();
+    }
+
+    @Test
+    void rotatedFiles(@TempDir Path root) throws IOException {
+        write(root, "tls.crt", PemFixtures.CERTIFICATE, 1);
+        write(root, "tls.key", PemFixtures.PKCS8_PRIVATE_KEY, 1);
+        RefreshableBinding b = new RefreshableBinding(root);
+        SslContextProvider p = new SslContextProvider(b);
+        Object before = p.getSslContext();
+
+        write(root, "ca.crt", PemFixtures.CA_CERTIFICATE, 2);
+        assertThat(p.getSslContext()).isSameAs(before);
+
+        b.refresh();
+        assertThat(p.getSslContext()).isNotSameAs(before);
+        assertThat(p.getTrustStore()).isNotNull();
+    }
+
+    @Test
+    void invalid() {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("tls.crt", PemFixtures.CERTIFICATE)
+            .withEntry("tls.key", "test-invalid")
+            .asBytes()));
+
+        assertThatIllegalStateException().isThrownBy(p::getSslContext);
+    }
+
+    @Test
+    void noCertificates() {
+        SslContextProvider p = new SslContextProvider(new MapBinding("test-name", new FluentMap()
+            .withEntry("tls.crt", "")
+            .withEntry("tls.key", PemFixtures.PKCS8_PRIVATE_KEY)
+            .asBytes()));
+
+        assertThatIllegalStateException()
+            .isThrownBy(p::getSslContext)
+            .withMessage("binding 'test-name' tls.crt contains no certificates");
+    }
+
+    private static void write(Path root, String key, String value, long modified) throws IOException {
+        Path file = root.resolve(key);
+        Files.write(file, value.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified * 1000));
+    }
+}
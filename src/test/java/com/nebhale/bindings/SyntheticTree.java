@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic binding trees for scale tests.  Trees can be generated on any file system, including in-memory
+ * ones, and optionally use the {@code ..data} symbolic link layout of a projected Kubernetes Secret volume.  Names,
+ * types, providers, and values are deterministic so that tests can check what they read.
+ */
+final class SyntheticTree {
+
+    private static final String DATA = "..data";
+
+    private int bindings = 1;
+
+    private int entries = 1;
+
+    private int valueSize = 16;
+
+    private boolean dataLinks = false;
+
+    @NotNull
+    SyntheticTree withBindings(int bindings) {
+        this.bindings = bindings;
+        return this;
+    }
+
+    @NotNull
+    SyntheticTree withEntries(int entries) {
+        this.entries = entries;
+        return this;
+    }
+
+    @NotNull
+    SyntheticTree withValueSize(int valueSize) {
+        this.valueSize = valueSize;
+        return this;
+    }
+
+    @NotNull
+    SyntheticTree withDataLinks(boolean dataLinks) {
+        this.dataLinks = dataLinks;
+        return this;
+    }
+
+    @NotNull
+    Path generate(@NotNull Path root) throws IOException {
+        Files.createDirectories(root);
+
+        for (int i = 0; i < bindings; i++) {
+            Path binding = Files.createDirectory(root.resolve(name(i)));
+            Path content = dataLinks ? Files.createDirectory(binding.resolve("..2021_01_01_00_00_00.000000000")) :
+                binding;
+
+            write(content, Binding.TYPE, type(i).getBytes(StandardCharsets.UTF_8));
+            write(content, Binding.PROVIDER, provider(i).getBytes(StandardCharsets.UTF_8));
+            for (int j = 0; j < entries; j++) {
+                write(content, key(j), value(i, j, valueSize));
+            }
+
+            if (dataLinks) {
+                Files.createSymbolicLink(binding.resolve(DATA), content.getFileName());
+                try (Stream<Path> children = Files.list(content)) {
+                    for (Path child : (Iterable<Path>) children::iterator) {
+                        Files.createSymbolicLink(binding.resolve(child.getFileName().toString()),
+                            binding.getFileSystem().getPath(DATA, child.getFileName().toString()));
+                    }
+                }
+            }
+        }
+
+        return root;
+    }
+
+    @NotNull
+    static String name(int binding) {
+        return String.format("binding-%05d", binding);
+    }
+
+    @NotNull
+    static String type(int binding) {
+        return String.format("type-%d", binding % 10);
+    }
+
+    @NotNull
+    static String provider(int binding) {
+        return String.format("provider-%d", binding % 3);
+    }
+
+    @NotNull
+    static String key(int entry) {
+        return String.format("key-%d", entry);
+    }
+
+    @NotNull
+    static byte[] value(int binding, int entry, int size) {
+        byte[] value = new byte[size];
+        for (int i = 0; i < size; i++) {
+            value[i] = (byte) ('a' + (binding * 31 + entry * 17 + i) % 26);
+        }
+        return value;
+    }
+
+    private static void write(Path directory, String key, byte[] value) throws IOException {
+        Files.write(directory.resolve(key), value);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nebhale.bindings;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+final class ValidatedBindingTest {
+
+    private final BindingValidator validator = BindingValidator.of(
+        BindingSchema.of("test-type").withRequired("test-port", BindingSchema.port()));
+
+    @Test
+    void getRequired() {
+        ValidatedBinding b = validator.validate(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-port", " 5432\n")
+            .asBytes()));
+
+        assertThat(b.getRequired("test-port")).isEqualTo("5432");
+        assertThat(b.getRequiredAsBytes("test-port")).isEqualTo(" 5432\n".getBytes(StandardCharsets.UTF_8));
+        assertThatIllegalStateException().isThrownBy(() -> b.getRequired("test-unknown-key"));
+        assertThatIllegalStateException().isThrownBy(() -> b.getRequiredAsBytes("test-unknown-key"));
+    }
+
+    @Test
+    void cached() {
+        CountingBinding c = new CountingBinding(new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-port", "5432")
+            .asBytes());
+        ValidatedBinding b = validator.validate(new CacheBinding(c));
+
+        b.revalidate();
+        b.revalidate();
+
+        assertThat(c.count).isEqualTo(2);
+    }
+
+    @Test
+    void versioned() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-port", "5432")
+            .asBytes();
+        CountingBinding c = new CountingBinding(content);
+        ValidatedBinding b = validator.validate(c);
+
+        b.revalidate();
+        b.revalidate();
+        assertThat(c.count).isEqualTo(2);
+
+        content.put("test-port", "test-port-value".getBytes(StandardCharsets.UTF_8));
+        c.version++;
+
+        assertThatIllegalStateException().isThrownBy(b::revalidate);
+        assertThat(c.count).isEqualTo(4);
+    }
+
+    @Test
+    void rotated() {
+        Map<String, byte[]> content = new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-port", "5432")
+            .asBytes();
+        ValidatedBinding b = validator.validate(new MapBinding("test-name", content));
+
+        content.put("test-port", "test-port-value".getBytes(StandardCharsets.UTF_8));
+
+        assertThatIllegalStateException()
+            .isThrownBy(b::revalidate)
+            .withMessage("binding 'test-name' is not valid: has an invalid value for entry 'test-port'");
+    }
+
+    @Test
+    void delegates() {
+        ValidatedBinding b = validator.validate(new MapBinding("test-name", new FluentMap()
+            .withEntry("type", "test-type")
+            .withEntry("test-port", "5432")
+            .asBytes()));
+
+        assertThat(b.getName()).isEqualTo("test-name");
+        assertThat(b.getKeys()).containsExactlyInAnyOrder("type", "test-port");
+        assertThat(b.get("test-port")).isEqualTo("5432");
+        assertThat(b.getType()).isEqualTo("test-type");
+    }
+
+    private static final class CountingBinding implements VersionedBinding {
+
+        private final Map<String, byte[]> content;
+
+        private int count = 0;
+
+        private long version = 0;
+
+        private CountingBinding(Map<String, byte[]> content) {
+            this.content = content;
+        }
+
+        @Nullable
+        @Override
+        public byte[] getAsBytes(@NotNull String key) {
+            count++;
+            return content.get(key);
+        }
+
+        @NotNull
+        @Override
+        public String getName() {
+            return "test-name";
+        }
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+    }
+}
@@ -18,6 +18,7 @@ package example;
 
 import com.nebhale.bindings.Binding;
 import com.nebhale.bindings.Bindings;
+import com.nebhale.bindings.JdbcDescriptor;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -33,15 +34,18 @@ public class Example {
             System.exit(1);
         }
 
-        String url = bindings[0].get("url");
-        if (url == null) {
-            System.err.println("No URL in binding");
+        JdbcDescriptor descriptor;
+        try {
+            descriptor = JdbcDescriptor.of(bindings[0]);
+        } catch (IllegalStateException e) {
+            System.err.printf("Unable to describe database: %s", e);
             System.exit(1);
+            return;
         }
 
         Connection conn;
         try {
-            conn = DriverManager.getConnection(url);
+            conn = DriverManager.getConnection(descriptor.getUrl(), descriptor.getProperties());
         } catch (SQLException e) {
             System.err.printf("Unable to connect to database: %s", e);
             System.exit(1);